@@ -0,0 +1,160 @@
+package br.com.vidros.app;
+
+import br.com.vidros.modelo.StatusVidro;
+import br.com.vidros.modelo.Vidro;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.swing.JTable;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.DefaultTableCellRenderer;
+import java.awt.Color;
+import java.awt.Component;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Pintura de uma tela da tabela principal (prepareRenderer de cada célula visível, rolando a cada chamada):
+// renderer e modelo anteriores (Color novo por célula, boxing e texto do status a cada leitura) x
+// StatusColorRenderer com cores fixas e o modelo com números e status em cache.
+// Com -prof gc, gc.alloc.rate.norm mostra os bytes alocados por tela.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class PinturaTabelaBenchmark {
+
+    private static final int ITENS = 200_000;
+    private static final int LINHAS_TELA = 50;
+
+    private JTable antiga;
+    private JTable nova;
+    private int topo = 0;
+
+    @Setup
+    public void preparar() {
+        List<Vidro> vidros = new ArrayList<>(ITENS);
+        for (int i = 0; i < ITENS; i++) {
+            Vidro v = new Vidro("OBRA " + (i % 7), "L" + (i % 30), "P" + i, "T" + (i % 50), "INCOLOR 8MM",
+                    300 + i % 1500, 400 + i % 2000, 2 + i % 5);
+            switch (i % 4) {
+                case 1 -> v.setQtdChegouFabrica(1);
+                case 2 -> v.setQtdEnviada(1);
+                case 3 -> v.setQtdReposicao(1);
+                default -> { }
+            }
+            v.calcularStatus();
+            vidros.add(v);
+        }
+
+        antiga = new JTable(new ModeloAntigo(vidros));
+        antiga.setAutoCreateRowSorter(true);
+        antiga.setDefaultRenderer(Object.class, new RendererAntigo(vidros));
+
+        ModeloTabelaVidros modelo = new ModeloTabelaVidros();
+        modelo.setLinhas(vidros);
+        nova = new JTable(modelo);
+        nova.setAutoCreateRowSorter(true);
+        ControleVidrosApp.StatusColorRenderer renderer = new ControleVidrosApp.StatusColorRenderer(modelo);
+        nova.setDefaultRenderer(Object.class, renderer);
+        nova.setDefaultRenderer(Number.class, renderer);
+    }
+
+    @Benchmark
+    public void antigo(Blackhole bh) {
+        pintarTela(antiga, bh);
+    }
+
+    @Benchmark
+    public void novo(Blackhole bh) {
+        pintarTela(nova, bh);
+    }
+
+    private void pintarTela(JTable tabela, Blackhole bh) {
+        topo = (topo + 37) % (ITENS - LINHAS_TELA);
+        for (int linha = topo; linha < topo + LINHAS_TELA; linha++) {
+            for (int coluna = 0; coluna < tabela.getColumnCount(); coluna++) {
+                Component c = tabela.prepareRenderer(tabela.getCellRenderer(linha, coluna), linha, coluna);
+                bh.consume(c.getBackground());
+            }
+        }
+    }
+
+    // Modelo e renderer anteriores, mantidos só como referência
+
+    private static class ModeloAntigo extends AbstractTableModel {
+        private final List<Vidro> linhas;
+
+        ModeloAntigo(List<Vidro> linhas) {
+            this.linhas = linhas;
+        }
+
+        @Override
+        public int getRowCount() {
+            return linhas.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return 12;
+        }
+
+        @Override
+        public Object getValueAt(int linha, int coluna) {
+            Vidro v = linhas.get(linha);
+            return switch (coluna) {
+                case 0 -> v.getIdItemUnico();
+                case 1 -> v.getNomeObra();
+                case 2 -> v.getListaOrigem();
+                case 3 -> v.getPosicao();
+                case 4 -> v.getTipologia();
+                case 5 -> v.getEspecificacao();
+                case 6 -> v.getLarguraMM();
+                case 7 -> v.getAlturaMM();
+                case 8 -> v.getQuantidadeTotal();
+                case 9 -> v.getQtdChegouFabrica();
+                case 10 -> v.getQtdCortada();
+                default -> v.getStatusGeral();
+            };
+        }
+    }
+
+    private static class RendererAntigo extends DefaultTableCellRenderer {
+        private final List<Vidro> linhas;
+
+        RendererAntigo(List<Vidro> linhas) {
+            this.linhas = linhas;
+        }
+
+        @Override
+        public Component getTableCellRendererComponent(JTable table, Object value,
+                                                       boolean isSelected, boolean hasFocus, int row, int column) {
+            Component c = super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
+            StatusVidro status = linhas.get(table.convertRowIndexToModel(row)).getStatus();
+            if (!isSelected) {
+                switch (status) {
+                    case ENTREGUE_NA_OBRA -> c.setBackground(new Color(80, 255, 80));
+                    case ENVIADO_PARCIAL -> c.setBackground(new Color(144, 238, 144));
+                    case EM_REPOSICAO -> c.setBackground(new Color(255, 60, 60));
+                    case PRONTO_PARA_ENVIO -> c.setBackground(new Color(200, 255, 200));
+                    case PRONTO_PARA_CORTE -> c.setBackground(new Color(255, 255, 0));
+                    case FALTA_MATERIAL -> c.setBackground(new Color(255, 200, 200));
+                    default -> c.setBackground(Color.WHITE);
+                }
+                c.setForeground(Color.BLACK);
+            }
+            return c;
+        }
+    }
+}
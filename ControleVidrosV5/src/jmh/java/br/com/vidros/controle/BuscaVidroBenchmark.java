@@ -0,0 +1,73 @@
+package br.com.vidros.controle;
+
+import br.com.vidros.modelo.Vidro;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Busca de um vidro pelo ID: varredura com stream na lista central (antes) x índice primário (IndiceIdVidro)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BuscaVidroBenchmark {
+
+    @Param({"10000", "300000"})
+    private int itens;
+
+    private List<Vidro> controleGeral;
+    private IndiceIdVidro indice;
+    private String[] idsBuscados;
+    private int proximo = 0;
+
+    @Setup
+    public void preparar() {
+        controleGeral = new ArrayList<>(itens);
+        indice = new IndiceIdVidro();
+        for (int i = 0; i < itens; i++) {
+            Vidro v = new Vidro("OBRA " + (i % 12), "LISTA " + (i % 300), "P" + i, "JANELA", "INCOLOR 8MM",
+                    300 + i % 1500, 400 + i % 2000, 2);
+            controleGeral.add(v);
+            indice.adicionarSeAusente(v);
+        }
+
+        // IDs sorteados (como as leituras na estação de corte), os mesmos nas duas buscas
+        Random sorteio = new Random(42);
+        idsBuscados = new String[1024];
+        for (int i = 0; i < idsBuscados.length; i++) {
+            idsBuscados[i] = controleGeral.get(sorteio.nextInt(itens)).getIdItemUnico();
+        }
+    }
+
+    @Benchmark
+    public Vidro varreduraStream() {
+        String id = proximoId();
+        return controleGeral.stream()
+                .filter(v -> v.getIdItemUnico().equals(id))
+                .findFirst().orElse(null);
+    }
+
+    @Benchmark
+    public Vidro indicePrimario() {
+        return indice.buscar(proximoId());
+    }
+
+    private String proximoId() {
+        return idsBuscados[proximo++ & (idsBuscados.length - 1)];
+    }
+}
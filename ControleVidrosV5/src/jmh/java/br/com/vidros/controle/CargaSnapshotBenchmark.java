@@ -0,0 +1,96 @@
+package br.com.vidros.controle;
+
+import br.com.vidros.modelo.PoolStrings;
+import br.com.vidros.modelo.Vidro;
+import br.com.vidros.persistencia.SnapshotJson;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Inicialização com um arquivo sintético no formato antigo (array JSON, pretty printing):
+// gson.fromJson com TypeToken, que só devolvia a lista (antes) x leitura em streaming com o
+// VidroTypeAdapter preenchendo a lista e o índice primário na mesma passada (SnapshotJson.ler).
+// Os vidros criados por reflexão não passam pelo construtor (hashId fica 0), por isso o caminho
+// antigo não monta o índice: mede só o que a inicialização fazia antes.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class CargaSnapshotBenchmark {
+
+    @Param({"1000000"})
+    private int itens;
+
+    private File arquivo;
+
+    @Setup
+    public void gerarArquivo() throws IOException {
+        arquivo = File.createTempFile("controle_vidros_bench", ".json");
+        Gson gson = new GsonBuilder().setPrettyPrinting().create();
+        try (JsonWriter writer = gson.newJsonWriter(new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(arquivo), StandardCharsets.UTF_8)))) {
+            writer.beginArray();
+            for (int i = 0; i < itens; i++) {
+                Vidro v = new Vidro("OBRA " + (i % 25), "LISTA " + (i % 400), "P" + i, "JANELA CORRER",
+                        "INCOLOR 8MM", 300 + i % 1500, 400 + i % 2000, 1 + i % 4);
+                v.setQtdChegouFabrica(i % 3);
+                v.calcularStatus();
+                gson.toJson(v, Vidro.class, writer);
+            }
+            writer.endArray();
+        }
+    }
+
+    @TearDown
+    public void apagarArquivo() {
+        arquivo.delete();
+    }
+
+    @Benchmark
+    public List<Vidro> antigoReflexao() throws IOException {
+        Type tipoListaVidro = new TypeToken<ArrayList<Vidro>>() {}.getType();
+        try (Reader reader = new InputStreamReader(new FileInputStream(arquivo), StandardCharsets.UTF_8)) {
+            return new Gson().fromJson(reader, tipoListaVidro);
+        }
+    }
+
+    @Benchmark
+    public IndiceIdVidro novoStreaming() throws IOException {
+        List<Vidro> lista = new ArrayList<>();
+        IndiceIdVidro indice = new IndiceIdVidro();
+        SnapshotJson.ler(arquivo, new PoolStrings(), v -> {
+            lista.add(v);
+            indice.adicionarSeAusente(v);
+        });
+        return indice;
+    }
+}
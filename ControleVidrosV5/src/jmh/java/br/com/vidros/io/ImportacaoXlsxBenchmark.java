@@ -0,0 +1,153 @@
+package br.com.vidros.io;
+
+import br.com.vidros.modelo.Vidro;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Importação de .xlsx: modelo completo do POI (WorkbookFactory) x leitura em streaming (XSSFReader + SAX).
+// Usa as planilhas de "Lista de Vidro Exemplos" e uma lista sintética com as linhas do exemplo repetidas.
+// Com -prof gc, gc.alloc.rate.norm mostra a memória alocada por importação.
+// Importação isolada (como o usuário faz): -bm ss -tu ms -wi 0 -i 1 -f 10. O @Setup já chama os dois
+// caminhos uma vez para conferir o resultado, então não é o primeiro uso do POI na JVM.
+// Pasta dos exemplos: propriedade "vidros.exemplos" (padrão: ../Lista de Vidro Exemplos, a partir do projeto).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ImportacaoXlsxBenchmark {
+
+    private static final String SINTETICA = "sintetica-30000";
+    private static final int LINHAS_SINTETICAS = 30_000;
+
+    @Param({
+            "02. Lista de Vidros-Obra3-SHOWROOM-PA2-23-01-2026-R01.xlsx",
+            "45. Lista de Vidros-Obra1-GC1-15-12-2025-R00.xlsx",
+            "47. Lista de Vidros-Obra1-PERG.08-13-01-2026-R00.xlsx",
+            SINTETICA
+    })
+    private String planilha;
+
+    private File arquivo;
+    private boolean temporario;
+
+    @Setup
+    public void preparar() throws IOException {
+        File pasta = new File(System.getProperty("vidros.exemplos", "../Lista de Vidro Exemplos"));
+        File exemplo = new File(pasta, "45. Lista de Vidros-Obra1-GC1-15-12-2025-R00.xlsx");
+        if (!exemplo.exists()) {
+            throw new IOException("Exemplos não encontrados em " + pasta.getAbsolutePath() +
+                    " (use -Dvidros.exemplos=<pasta> ou -jvmArgsAppend)");
+        }
+
+        if (planilha.equals(SINTETICA)) {
+            arquivo = File.createTempFile("lista_vidros_bench", ".xlsx");
+            temporario = true;
+            gerarSintetica(exemplo, arquivo);
+        } else {
+            arquivo = new File(pasta, planilha);
+        }
+
+        // Os dois caminhos precisam produzir exatamente a mesma lista
+        if (!campos(dom()).equals(campos(streaming()))) {
+            throw new IllegalStateException("Listas diferentes entre DOM e SAX para " + planilha);
+        }
+    }
+
+    @TearDown
+    public void apagar() {
+        if (temporario) arquivo.delete();
+    }
+
+    @Benchmark
+    public List<Vidro> dom() {
+        return ImportadorExcel.importarDom(arquivo, new MontadorVidros("OBRA", "LISTA"));
+    }
+
+    @Benchmark
+    public List<Vidro> streaming() {
+        return ImportadorExcel.importarXlsx(arquivo, new MontadorVidros("OBRA", "LISTA"));
+    }
+
+    // Funções Auxiliares
+
+    // Mantém as linhas antes do primeiro item (cabeçalho) e repete as linhas de itens até o total pedido
+    private static void gerarSintetica(File exemplo, File destino) throws IOException {
+        try (InputStream in = new FileInputStream(exemplo);
+             Workbook origem = WorkbookFactory.create(in);
+             SXSSFWorkbook novo = new SXSSFWorkbook(200)) {
+
+            Sheet folha = origem.getSheetAt(0);
+            List<Row> linhas = new ArrayList<>();
+            for (Row row : folha) linhas.add(row);
+            int inicioItens = Math.min(linhas.size() - 1, linhas.size() / 4);
+
+            Sheet saida = novo.createSheet("Lista");
+            int numero = 0;
+            for (int i = 0; i < inicioItens; i++) copiar(linhas.get(i), saida.createRow(numero++));
+            while (numero < LINHAS_SINTETICAS) {
+                for (int i = inicioItens; i < linhas.size() && numero < LINHAS_SINTETICAS; i++) {
+                    copiar(linhas.get(i), saida.createRow(numero++));
+                }
+            }
+            try (OutputStream out = new FileOutputStream(destino)) {
+                novo.write(out);
+            }
+            novo.dispose();
+        }
+    }
+
+    private static void copiar(Row origem, Row destino) {
+        for (Cell c : origem) {
+            Cell nova = destino.createCell(c.getColumnIndex());
+            switch (c.getCellType()) {
+                case NUMERIC -> nova.setCellValue(c.getNumericCellValue());
+                case BOOLEAN -> nova.setCellValue(c.getBooleanCellValue());
+                case FORMULA -> {
+                    switch (c.getCachedFormulaResultType()) {
+                        case NUMERIC -> nova.setCellValue(c.getNumericCellValue());
+                        case STRING -> nova.setCellValue(c.getStringCellValue());
+                        default -> { }
+                    }
+                }
+                case STRING -> nova.setCellValue(c.getStringCellValue());
+                default -> { }
+            }
+        }
+    }
+
+    private static List<String> campos(List<Vidro> vidros) {
+        List<String> campos = new ArrayList<>(vidros.size());
+        for (Vidro v : vidros) {
+            campos.add(v.getIdItemUnico() + "|" + v.getEspecificacao() + "|" + v.getQuantidadeTotal());
+        }
+        return campos;
+    }
+}
@@ -0,0 +1,67 @@
+package br.com.vidros.modelo;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// Geração do ID: concatenação + replaceAll("\\s+") + toUpperCase() (antes) x passada única (Vidro.gerarIdUnico).
+// Com -prof gc dá para ver também a alocação por ID. A igualdade dos IDs é conferida no GeracaoIdTest.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeracaoIdBenchmark {
+
+    private static final int ITENS = 1000;
+
+    private Vidro[] vidros;
+
+    @Setup
+    public void preparar() {
+        String[] obras = {"Residencial Vista Mar", "Torre Norte", "Edifício São Paulo"};
+        String[] tipologias = {"JANELA CORRER 2F", "porta giro", "Box  Frontal", "FIXO\tSUPERIOR"};
+        vidros = new Vidro[ITENS];
+        for (int i = 0; i < ITENS; i++) {
+            vidros[i] = new Vidro(obras[i % obras.length], "Lista " + (i % 40), "P " + i,
+                    tipologias[i % tipologias.length], "INCOLOR 8MM", 300 + i, 1200 + i % 900, 1 + i % 4);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITENS)
+    public void antigo(Blackhole bh) {
+        for (Vidro v : vidros) bh.consume(idAntigo(v));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITENS)
+    public void novo(Blackhole bh) {
+        for (Vidro v : vidros) bh.consume(v.gerarIdUnico());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITENS)
+    public void novoComHash(Blackhole bh) {
+        for (Vidro v : vidros) bh.consume(Vidro.hashId(v.gerarIdUnico()));
+    }
+
+    // Implementação anterior, mantida só como referência (a mesma do GeracaoIdTest)
+    private static String idAntigo(Vidro v) {
+        String idBase = v.getNomeObra() + "-" + v.getListaOrigem() + "-" + v.getPosicao() + "-" + v.getTipologia() +
+                "-" + v.getLarguraMM() + "x" + v.getAlturaMM();
+        return idBase.replaceAll("\\s+", "").toUpperCase();
+    }
+}
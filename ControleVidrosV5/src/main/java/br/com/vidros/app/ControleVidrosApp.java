@@ -1,25 +1,56 @@
 package br.com.vidros.app;
 
+import br.com.vidros.controle.ComparacaoRevisao;
 import br.com.vidros.controle.GerenciadorVidros;
+import br.com.vidros.io.CancelamentoImportacao;
 import br.com.vidros.io.ImportadorExcel;
+import br.com.vidros.io.ImportadorLote;
 import br.com.vidros.io.ExportadorExcel;
+import br.com.vidros.io.ExportadorObras;
+import br.com.vidros.io.MonitorPasta;
+import br.com.vidros.io.RelatorioImportacao;
+import br.com.vidros.modelo.StatusVidro;
 import br.com.vidros.modelo.Vidro;
+import br.com.vidros.persistencia.PersistenciaAssincrona;
 
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.swing.table.DefaultTableCellRenderer;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.table.TableRowSorter;
 import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
 
 public class ControleVidrosApp extends JFrame {
 
     private final GerenciadorVidros gerenciador;
     private JTable tabelaVidros;
-    private DefaultTableModel tableModel;
+    private ModeloTabelaVidros tableModel;
     private JComboBox<String> cbFiltroObra;
+    private JLabel lblGravacao;
+    private JLabel lblMonitor;
+    private TableRowSorter<ModeloTabelaVidros> ordenador;
+    private JTextField txtBusca;
+    private Timer timerBusca;       // Espera o usuário parar de digitar
+    private BitSet resultadoBusca;  // Linhas do modelo que passaram na busca (null = sem busca aplicada)
+    private final Map<StatusVidro, JToggleButton> filtrosStatus = new EnumMap<>(StatusVidro.class);
+    private JToggleButton tglFaltantes;
+    private MonitorPasta monitor;   // Importação automática (null quando desligada)
 
     public ControleVidrosApp() {
         // Inicializa o gerenciador (carrega o JSON automaticamente)
@@ -39,6 +70,15 @@ public class ControleVidrosApp extends JFrame {
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setLocationRelativeTo(null);    // Centraliza na tela
         setLayout(new BorderLayout());
+
+        // Grava o que estiver pendente antes de sair
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                if (monitor != null) monitor.encerrar();
+                gerenciador.fechar();
+            }
+        });
     }
 
     private void inicializarComponentes() {
@@ -49,6 +89,13 @@ public class ControleVidrosApp extends JFrame {
         btnImportar.setBackground(new Color(230, 230, 250));    // Lavanda
         btnImportar.setIcon(UIManager.getIcon("FileView.directoryIcon"));
 
+        JButton btnImportarPasta = new JButton("Importar Pasta de Listas");
+        btnImportarPasta.setBackground(new Color(230, 230, 250));    // Lavanda
+        btnImportarPasta.setIcon(UIManager.getIcon("FileView.directoryIcon"));
+
+        JToggleButton btnMonitorar = new JToggleButton("Monitorar Pasta");
+        btnMonitorar.setBackground(new Color(230, 230, 250));    // Lavanda
+
         JButton btnExcluirLista = new JButton("Excluir Lista");
         btnExcluirLista.setBackground(new Color(255, 200, 200));    // Vermelho Claro
         btnExcluirLista.setForeground(Color.RED);
@@ -57,53 +104,78 @@ public class ControleVidrosApp extends JFrame {
         btnExportar.setBackground(new Color(255, 255, 224));    // Amarelo Claro
         btnExportar.setIcon(UIManager.getIcon("FileView.floppyDriveIcon")); // Ícone de disquete
 
+        JButton btnExportarObras = new JButton("Exportar por Obra");
+        btnExportarObras.setBackground(new Color(255, 255, 224));    // Amarelo Claro
+        btnExportarObras.setIcon(UIManager.getIcon("FileView.directoryIcon"));
+
         JLabel lblFiltro = new JLabel("Filtrar por Obra: ");
         JLabel lblAssinatura = new JLabel("Desenvolvedor: Arthur Ward (arthurwarddev@gmail.com)");
         cbFiltroObra = new JComboBox<>();
         cbFiltroObra.addItem("TODAS AS OBRAS");
 
+        JLabel lblBusca = new JLabel("Buscar: ");
+        txtBusca = new JTextField(18);
+        txtBusca.setToolTipText("Posição, tipologia, especificação ou ID (início das palavras, ex.: \"temp 8mm\")");
+
         painelSuperior.add(btnImportar);
+        painelSuperior.add(btnImportarPasta);
+        painelSuperior.add(btnMonitorar);
         painelSuperior.add(btnExportar);
+        painelSuperior.add(btnExportarObras);
         painelSuperior.add(btnExcluirLista);
         painelSuperior.add(Box.createHorizontalStrut(20)); // Espaçamento
         painelSuperior.add(lblFiltro);
         painelSuperior.add(cbFiltroObra);
+        painelSuperior.add(Box.createHorizontalStrut(10));
+        painelSuperior.add(lblBusca);
+        painelSuperior.add(txtBusca);
         painelSuperior.add(Box.createHorizontalStrut(20));
         painelSuperior.add(lblAssinatura);
 
-        add(painelSuperior, BorderLayout.NORTH);
+        // Filtros rápidos: status marcados em OU, combinados com a obra do filtro e com "Falta Chegar"
+        JPanel painelFiltros = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        painelFiltros.add(new JLabel("Filtros Rápidos: "));
+        for (StatusVidro status : StatusVidro.values()) {
+            JToggleButton tglStatus = new JToggleButton(status.getRotulo());
+            tglStatus.addActionListener(e -> atualizarTabela());
+            filtrosStatus.put(status, tglStatus);
+            painelFiltros.add(tglStatus);
+        }
+        tglFaltantes = new JToggleButton("Falta Chegar");
+        tglFaltantes.setToolTipText("Itens que ainda não chegaram completos na fábrica");
+        tglFaltantes.addActionListener(e -> atualizarTabela());
+        painelFiltros.add(Box.createHorizontalStrut(10));
+        painelFiltros.add(tglFaltantes);
+
+        JButton btnLimparFiltros = new JButton("Limpar");
+        btnLimparFiltros.addActionListener(e -> {
+            for (JToggleButton t : filtrosStatus.values()) t.setSelected(false);
+            tglFaltantes.setSelected(false);
+            atualizarTabela();
+        });
+        painelFiltros.add(btnLimparFiltros);
+
+        JPanel painelNorte = new JPanel();
+        painelNorte.setLayout(new BoxLayout(painelNorte, BoxLayout.Y_AXIS));
+        painelNorte.add(painelSuperior);
+        painelNorte.add(painelFiltros);
+        add(painelNorte, BorderLayout.NORTH);
 
         // === 2. PAINEL CENTRAL ===
-        String[] colunas = {
-            "ID",               // 0
-            "Obra",             // 1
-            "Lista",            // 2
-            "Posição",          // 3
-            "Tipologia",        // 4
-            "Especificação",    // 5
-            "L (mm)",           // 6
-            "H (mm)",           // 7
-            "Total",            // 8
-            "Chegou",           // 9
-            "Cortado",          // 10
-            "Status"            // 11
-        };
-
-        // Modelo de Tabela não editável
-        tableModel = new DefaultTableModel(colunas, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        // Modelo ligado ao gerenciador: cada movimentação atualiza só a linha do vidro
+        tableModel = new ModeloTabelaVidros();
+        gerenciador.adicionarOuvinte(tableModel);
 
         tabelaVidros = new JTable(tableModel);
 
         // Aplica o renderizador de cores
-        tabelaVidros.setDefaultRenderer(Object.class, new StatusColorRenderer());
+        StatusColorRenderer renderer = new StatusColorRenderer(tableModel);
+        tabelaVidros.setDefaultRenderer(Object.class, renderer);
+        tabelaVidros.setDefaultRenderer(Number.class, renderer);    // Colunas numéricas (medidas e quantidades)
 
         // Ordenação automática ao clicar no cabeçalho
-        tabelaVidros.setAutoCreateRowSorter(true);
+        ordenador = new TableRowSorter<>(tableModel);
+        tabelaVidros.setRowSorter(ordenador);
 
         // Ajuste da largura das colunas
         tabelaVidros.getColumnModel().getColumn(0).setMinWidth(0);
@@ -151,15 +223,46 @@ public class ControleVidrosApp extends JFrame {
         painelInferior.add(Box.createHorizontalStrut(5));
         painelInferior.add(btnVerDetalhes);
 
+        // Situação da gravação em segundo plano (pendências e latência)
+        lblGravacao = new JLabel();
+        painelInferior.add(Box.createHorizontalStrut(20));
+        painelInferior.add(lblGravacao);
+        new Timer(1000, e -> atualizarSituacaoGravacao()).start();
+
+        lblMonitor = new JLabel("Monitor: desligado");
+        painelInferior.add(Box.createHorizontalStrut(20));
+        painelInferior.add(lblMonitor);
+
         add(painelInferior, BorderLayout.SOUTH);
 
         // === 4. LISTENERS (AÇÕES DOS BOTÕES) ===
 
         btnImportar.addActionListener(e -> acaoImportarExcel());
-        btnExportar.addActionListener(e -> ExportadorExcel.exportarTabela(tabelaVidros, this));
+        btnImportarPasta.addActionListener(e -> acaoImportarPasta());
+        btnMonitorar.addActionListener(e -> acaoMonitorarPasta(btnMonitorar));
+        btnExportar.addActionListener(e -> acaoExportarExcel());
+        btnExportarObras.addActionListener(e -> acaoExportarPorObra());
         btnExcluirLista.addActionListener(e -> acaoExcluirTabela());
         cbFiltroObra.addActionListener(e -> atualizarTabela());
 
+        // Busca aplicada 200 ms depois da última tecla
+        timerBusca = new Timer(200, e -> aplicarBusca());
+        timerBusca.setRepeats(false);
+        txtBusca.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) { timerBusca.restart(); }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) { timerBusca.restart(); }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) { timerBusca.restart(); }
+        });
+        txtBusca.addActionListener(e -> {   // Enter: aplica na hora
+            timerBusca.stop();
+            aplicarBusca();
+        });
+
         btnDarEntrada.addActionListener(e -> acaoDarEntrada());
         btnDarBaixa.addActionListener(e -> acaoDarBaixa());
         btnRegistrarEnvio.addActionListener(e -> acaoRegistrarEnvio());
@@ -170,6 +273,12 @@ public class ControleVidrosApp extends JFrame {
 
     // LÓGICA DE NEGÓCIO DA INTERFACE
 
+    private void atualizarSituacaoGravacao() {
+        PersistenciaAssincrona p = gerenciador.getPersistencia();
+        lblGravacao.setText("Gravação: " + p.getPendentes() + " pendente(s) | última " +
+                p.getUltimaLatenciaMs() + " ms (máx " + p.getMaiorLatenciaMs() + " ms)");
+    }
+
     private void atualizarComboObras() {
         // Guarda a seleção atual para restaurar depois
         Object selecaoAtual = cbFiltroObra.getSelectedItem();
@@ -177,12 +286,8 @@ public class ControleVidrosApp extends JFrame {
         cbFiltroObra.removeAllItems();
         cbFiltroObra.addItem("Todas as Obras");
 
-        // Pega todas as obras únicas do gerenciador
-        List<Vidro> todos = gerenciador.getTodosVidros();
-        Set<String> obras = todos.stream()
-                .map(Vidro::getNomeObra).collect(Collectors.toSet());
-
-        for (String obra : obras) {
+        // Pega todas as obras únicas do índice do gerenciador
+        for (String obra : gerenciador.getObras()) {
             cbFiltroObra.addItem(obra);
         }
 
@@ -190,31 +295,168 @@ public class ControleVidrosApp extends JFrame {
     }
 
     private void atualizarTabela() {
-        tableModel.setRowCount(0);  // Limpa a tabela
+        filtrarBusca(null);     // O resultado da busca aponta para as linhas do conteúdo anterior
+        tableModel.setLinhas(vidrosDoFiltro());
+        if (!txtBusca.getText().isBlank()) aplicarBusca();     // Conteúdo novo: refaz a busca
+    }
+
+    // Filtra a tabela pelo índice de palavras (sem percorrer as células)
+    private void aplicarBusca() {
+        String texto = txtBusca.getText();
+        if (texto.isBlank()) {
+            tableModel.cancelarBusca();     // Índice ainda montando: não aplica a busca antiga depois
+            filtrarBusca(null);
+            return;
+        }
+        // Só separadores (ex.: "-"): buscar devolve null e mostra tudo
+        tableModel.comIndiceBusca(indice -> filtrarBusca(indice.buscar(texto)));
+    }
+
+    private void filtrarBusca(BitSet encontrados) {
+        resultadoBusca = encontrados;
+        if (encontrados == null) {
+            ordenador.setRowFilter(null);
+            return;
+        }
+        ordenador.setRowFilter(new RowFilter<ModeloTabelaVidros, Integer>() {
+            @Override
+            public boolean include(Entry<? extends ModeloTabelaVidros, ? extends Integer> entry) {
+                return encontrados.get(entry.getIdentifier());
+            }
+        });
+    }
+
+    // Vidros da obra selecionada no filtro (ou todos), com os filtros rápidos marcados
+    private List<Vidro> vidrosDoFiltro() {
         String obraSelecionada = (String) cbFiltroObra.getSelectedItem();
-        List<Vidro> listaExibir;
+        if (obraSelecionada != null && obraSelecionada.equals("Todas as Obras")) obraSelecionada = null;
 
-        if (obraSelecionada == null || obraSelecionada.equals("Todas as Obras")) {
-            listaExibir = gerenciador.getTodosVidros();
+        Set<StatusVidro> status = EnumSet.noneOf(StatusVidro.class);
+        for (Map.Entry<StatusVidro, JToggleButton> filtro : filtrosStatus.entrySet()) {
+            if (filtro.getValue().isSelected()) status.add(filtro.getKey());
+        }
+        if (!status.isEmpty() || tglFaltantes.isSelected()) {
+            return gerenciador.filtrarPorStatus(obraSelecionada, status, tglFaltantes.isSelected());
+        }
+
+        if (obraSelecionada == null) {
+            return gerenciador.getTodosVidros();
+        }
+        return gerenciador.filtrarPorObra(obraSelecionada);
+    }
+
+    // Exporta direto do gerenciador (com os filtros de obra e status) em streaming, fora da thread da interface.
+    // Com uma busca aplicada, exporta só as linhas da tabela que passaram nela.
+    // Não lê a JTable: a planilha sai na ordem do cadastro, não na ordenação da tela.
+    private void acaoExportarExcel() {
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setDialogTitle("Salvar Tabela como Excel");
+        fileChooser.setSelectedFile(new File("Relatorio_Vidros.xlsx"));
+        if (fileChooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return;
+
+        File selecionado = fileChooser.getSelectedFile();
+        File arquivo = selecionado.getName().toLowerCase().endsWith(".xlsx")
+                ? selecionado : new File(selecionado.getParentFile(), selecionado.getName() + ".xlsx");
+
+        // Cópia feita aqui: a importação automática pode alterar o gerenciador durante a exportação
+        List<Vidro> vidros;
+        if (resultadoBusca == null) {
+            vidros = new ArrayList<>(vidrosDoFiltro());
         } else {
-            listaExibir = gerenciador.filtrarPorObra(obraSelecionada);
+            vidros = new ArrayList<>(resultadoBusca.cardinality());
+            for (int i = resultadoBusca.nextSetBit(0); i >= 0; i = resultadoBusca.nextSetBit(i + 1)) {
+                vidros.add(tableModel.getVidro(i));
+            }
         }
 
-        for (Vidro v : listaExibir) {
-            Object[] linha = {
-                v.getIdItemUnico(), v.getNomeObra(), v.getListaOrigem(), v.getPosicao(),
-                v.getTipologia(), v.getEspecificacao(), v.getLarguraMM(), v.getAlturaMM(),
-                v.getQuantidadeTotal(), v.getQtdChegouFabrica(),
-                v.getQtdCortada(), v.getStatusGeral()
-            };
-            tableModel.addRow(linha);
+        JDialog dlgProgresso = new JDialog(this, "Exportando " + arquivo.getName(), true);
+        JProgressBar barraProgresso = new JProgressBar(0, 100);
+        barraProgresso.setStringPainted(true);
+        JPanel painel = new JPanel(new BorderLayout(0, 8));
+        painel.setBorder(BorderFactory.createEmptyBorder(12, 12, 12, 12));
+        painel.add(new JLabel(String.format("Gravando %,d itens...", vidros.size())), BorderLayout.NORTH);
+        painel.add(barraProgresso, BorderLayout.CENTER);
+        dlgProgresso.setContentPane(painel);
+        dlgProgresso.setSize(420, 120);
+        dlgProgresso.setLocationRelativeTo(this);
+        dlgProgresso.setDefaultCloseOperation(WindowConstants.DO_NOTHING_ON_CLOSE);
+
+        long inicio = System.nanoTime();
+        SwingWorker<Void, Void> worker = new SwingWorker<>() {
+            @Override
+            protected Void doInBackground() throws IOException {
+                ExportadorExcel.exportarVidros(vidros, arquivo, this::setProgress);
+                return null;
+            }
+
+            @Override
+            protected void done() {
+                dlgProgresso.dispose();
+                try {
+                    get();
+                    JOptionPane.showMessageDialog(ControleVidrosApp.this, String.format(
+                            "Exportação Concluída com sucesso!\n%,d itens em %.1f s.",
+                            vidros.size(), (System.nanoTime() - inicio) / 1e9));
+                } catch (ExecutionException ex) {
+                    JOptionPane.showMessageDialog(ControleVidrosApp.this, "Erro ao salvar arquivo: " + ex.getCause().getMessage());
+                    ex.getCause().printStackTrace();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        worker.addPropertyChangeListener(e -> {
+            if ("progress".equals(e.getPropertyName())) barraProgresso.setValue((Integer) e.getNewValue());
+        });
+
+        worker.execute();
+        if (!worker.isDone()) dlgProgresso.setVisible(true);   // Modal: fecha no done()
+    }
+
+    // Uma planilha por obra (aba de resumo + uma aba por lista) na pasta escolhida, com manifesto
+    private void acaoExportarPorObra() {
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setDialogTitle("Selecione a pasta de destino das planilhas");
+        fileChooser.setFileSelectionMode(JFileChooser.DIRECTORIES_ONLY);
+
+        if (fileChooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        File pasta = fileChooser.getSelectedFile();
+
+        // Cópia das listas feita aqui, sob o bloqueio do gerenciador
+        Map<String, Map<String, List<Vidro>>> obras = gerenciador.copiarListasPorObra();
+        if (obras.isEmpty()) {
+            JOptionPane.showMessageDialog(this, "Nenhuma obra cadastrada.");
+            return;
         }
+
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+
+        // Gravação das planilhas fora da thread da interface
+        new SwingWorker<ExportadorObras.ResultadoExportacao, Void>() {
+            @Override
+            protected ExportadorObras.ResultadoExportacao doInBackground() throws IOException {
+                return ExportadorObras.exportar(obras, pasta);
+            }
+
+            @Override
+            protected void done() {
+                setCursor(Cursor.getDefaultCursor());
+                try {
+                    JTextArea txtResumo = new JTextArea(get().resumo(), 15, 70);
+                    txtResumo.setEditable(false);
+                    JOptionPane.showMessageDialog(ControleVidrosApp.this, new JScrollPane(txtResumo),
+                            "Exportação por Obra", JOptionPane.INFORMATION_MESSAGE);
+                } catch (Exception ex) {
+                    JOptionPane.showMessageDialog(ControleVidrosApp.this, "Erro ao exportar: " + ex.getMessage());
+                    ex.printStackTrace();
+                }
+            }
+        }.execute();
     }
 
     private void acaoExcluirTabela() {
         // 1. Escolher a Obra
-        List<Vidro> todos = gerenciador.getTodosVidros();
-        Object[] obras = todos.stream().map(Vidro::getNomeObra).distinct().toArray();
+        Object[] obras = gerenciador.getObras().toArray();
 
         if (obras.length == 0) {
             JOptionPane.showMessageDialog(this, "Não há obras cadastradas.");
@@ -279,25 +521,264 @@ public class ControleVidrosApp extends JFrame {
 
             if (nomeLista == null) nomeLista = "Indefinida";
 
-            try {
-                // Chama o importador passando os parâmetros de organização
-                List<Vidro> novosVidros = ImportadorExcel.importar(arquivo, nomeObra.toUpperCase(), nomeLista);
-
-                if (!novosVidros.isEmpty()) {
-                    gerenciador.adicionarListaDeObra(novosVidros);
-                    atualizarComboObras();
-                    atualizarTabela();
-                    JOptionPane.showMessageDialog(this, novosVidros.size() + " itens importados com sucesso!");
-                } else {
-                    JOptionPane.showMessageDialog(this, "Nenhum item encontrado. Verfique o layout da planilha.");
+            importarEmSegundoPlano(arquivo, nomeObra.toUpperCase(), nomeLista);
+        }
+    }
+
+    // Lê a lista fora da thread da interface, com barra de progresso e botão de cancelar.
+    // O gerenciador só é alterado depois que a leitura termina (cancelada, nada muda).
+    private void importarEmSegundoPlano(File arquivo, String nomeObra, String nomeLista) {
+        CancelamentoImportacao cancelamento = new CancelamentoImportacao();
+
+        JDialog dlgProgresso = new JDialog(this, "Importando " + arquivo.getName(), true);
+        JProgressBar barraProgresso = new JProgressBar(0, 100);
+        barraProgresso.setStringPainted(true);
+        JLabel lblLinhas = new JLabel("Abrindo arquivo...");
+        JButton btnCancelar = new JButton("Cancelar");
+
+        JPanel painel = new JPanel(new BorderLayout(0, 8));
+        painel.setBorder(BorderFactory.createEmptyBorder(12, 12, 12, 12));
+        painel.add(lblLinhas, BorderLayout.NORTH);
+        painel.add(barraProgresso, BorderLayout.CENTER);
+        JPanel painelBotao = new JPanel(new FlowLayout(FlowLayout.RIGHT, 0, 0));
+        painelBotao.add(btnCancelar);
+        painel.add(painelBotao, BorderLayout.SOUTH);
+        dlgProgresso.setContentPane(painel);
+        dlgProgresso.setSize(420, 150);
+        dlgProgresso.setLocationRelativeTo(this);
+        dlgProgresso.setDefaultCloseOperation(WindowConstants.DO_NOTHING_ON_CLOSE);
+
+        long inicio = System.nanoTime();
+        SwingWorker<RelatorioImportacao, int[]> worker = new SwingWorker<>() {
+            @Override
+            protected RelatorioImportacao doInBackground() {
+                return ImportadorExcel.importarComRelatorio(arquivo, nomeObra, nomeLista, (linhas, itens, percentual) -> {
+                    setProgress(percentual);
+                    publish(new int[]{linhas, itens});
+                }, cancelamento);
+            }
+
+            @Override
+            protected void process(List<int[]> parciais) {
+                if (cancelamento.isCancelado()) return;
+                int[] ultimo = parciais.get(parciais.size() - 1);
+                double segundos = Math.max(0.001, (System.nanoTime() - inicio) / 1e9);
+                lblLinhas.setText(String.format("%,d linhas lidas (%,d itens) - %,.0f linhas/s",
+                        ultimo[0], ultimo[1], ultimo[0] / segundos));
+            }
+
+            @Override
+            protected void done() {
+                dlgProgresso.dispose();
+                try {
+                    concluirImportacao(nomeObra, nomeLista, get());
+                } catch (ExecutionException ex) {
+                    if (ex.getCause() instanceof CancellationException) {
+                        JOptionPane.showMessageDialog(ControleVidrosApp.this, "Importação cancelada. Nenhum item foi alterado.");
+                    } else {
+                        JOptionPane.showMessageDialog(ControleVidrosApp.this, "Erro ao importar: " + ex.getCause().getMessage());
+                        ex.getCause().printStackTrace();
+                    }
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
                 }
-            } catch (Exception ex) {
-                JOptionPane.showMessageDialog(this, "Erro ao importar: " + ex.getMessage());
+            }
+        };
+        worker.addPropertyChangeListener(e -> {
+            if ("progress".equals(e.getPropertyName())) barraProgresso.setValue((Integer) e.getNewValue());
+        });
+
+        Runnable cancelar = () -> {
+            cancelamento.cancelar();
+            btnCancelar.setEnabled(false);
+            lblLinhas.setText("Cancelando...");
+        };
+        btnCancelar.addActionListener(e -> cancelar.run());
+        dlgProgresso.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                cancelar.run();
+            }
+        });
+
+        worker.execute();
+        if (!worker.isDone()) dlgProgresso.setVisible(true);   // Modal: fecha no done()
+    }
+
+    private void concluirImportacao(String nomeObra, String nomeLista, RelatorioImportacao relatorio) {
+        List<Vidro> novosVidros = relatorio.getVidros();
+        if (!novosVidros.isEmpty() && gerenciador.existeLista(nomeObra, nomeLista)) {
+            // Lista já cadastrada: nova revisão (R00 -> R01)
+            importarRevisao(nomeObra, nomeLista, relatorio);
+        } else if (!novosVidros.isEmpty()) {
+            gerenciador.adicionarListaDeObra(novosVidros);
+            atualizarComboObras();
+            atualizarTabela();
+            mostrarRelatorio("Importação Concluída", novosVidros.size() + " itens importados com sucesso!", relatorio);
+        } else {
+            mostrarRelatorio("Importação", "Nenhum item encontrado. Verfique o layout da planilha.", relatorio);
+        }
+    }
+
+    private void importarRevisao(String nomeObra, String nomeLista, RelatorioImportacao relatorio) {
+        List<Vidro> novosVidros = relatorio.getVidros();
+        String[] opcoes = {"Atualizar Revisão", "Adicionar como Nova", "Cancelar"};
+        int escolha = JOptionPane.showOptionDialog(this,
+                "A lista " + nomeLista + " já existe na obra " + nomeObra + ".\n" +
+                        "Atualizar para esta revisão mantendo as entradas, cortes e envios já lançados?",
+                "Nova Revisão da Lista", JOptionPane.DEFAULT_OPTION, JOptionPane.QUESTION_MESSAGE,
+                null, opcoes, opcoes[0]);
+
+        if (escolha == 0) {
+            ComparacaoRevisao comparacao = gerenciador.atualizarRevisao(nomeObra, nomeLista, novosVidros);
+            atualizarComboObras();
+            atualizarTabela();
+            mostrarRelatorio("Revisão Atualizada", comparacao.resumo(), relatorio);
+        } else if (escolha == 1) {
+            gerenciador.adicionarListaDeObra(novosVidros);
+            atualizarComboObras();
+            atualizarTabela();
+            mostrarRelatorio("Importação Concluída", novosVidros.size() + " itens importados com sucesso!", relatorio);
+        }
+    }
+
+    // Mensagem final da importação com o relatório (linhas descartadas, cabeçalho, tempos) e opção de exportar
+    private void mostrarRelatorio(String titulo, String mensagem, RelatorioImportacao relatorio) {
+        JTextArea txtRelatorio = new JTextArea(mensagem + "\n\n" + relatorio.texto(), 20, 80);
+        txtRelatorio.setEditable(false);
+        txtRelatorio.setCaretPosition(0);
+
+        String[] opcoes = {"OK", "Exportar Relatório"};
+        int escolha = JOptionPane.showOptionDialog(this, new JScrollPane(txtRelatorio), titulo,
+                JOptionPane.DEFAULT_OPTION, JOptionPane.INFORMATION_MESSAGE, null, opcoes, opcoes[0]);
+        if (escolha != 1) return;
+
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setDialogTitle("Salvar relatório da importação");
+        fileChooser.setSelectedFile(new File("Relatorio Importacao - " + relatorio.getArquivo() + ".txt"));
+        if (fileChooser.showSaveDialog(this) == JFileChooser.APPROVE_OPTION) {
+            try {
+                relatorio.exportar(fileChooser.getSelectedFile());
+                JOptionPane.showMessageDialog(this, "Relatório salvo em " + fileChooser.getSelectedFile().getName());
+            } catch (IOException ex) {
+                JOptionPane.showMessageDialog(this, "Erro ao salvar o relatório: " + ex.getMessage());
                 ex.printStackTrace();
             }
         }
     }
 
+    // Importa todos os arquivos de uma pasta (Obra e Lista vêm do nome de cada arquivo)
+    private void acaoImportarPasta() {
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setDialogTitle("Selecione a pasta com as listas de Vidros");
+        fileChooser.setFileSelectionMode(JFileChooser.DIRECTORIES_ONLY);
+
+        if (fileChooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        File pasta = fileChooser.getSelectedFile();
+
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+
+        // Leitura dos arquivos fora da thread da interface
+        new SwingWorker<ImportadorLote.ResultadoLote, Void>() {
+            @Override
+            protected ImportadorLote.ResultadoLote doInBackground() {
+                return ImportadorLote.importarPasta(pasta);
+            }
+
+            @Override
+            protected void done() {
+                setCursor(Cursor.getDefaultCursor());
+                try {
+                    ImportadorLote.ResultadoLote lote = get();
+                    StringBuilder resumo = new StringBuilder(lote.resumo());
+                    if (lote.getTotalItens() > 0) {
+                        // Listas que já existem passam para a nova revisão (sem duplicar os itens)
+                        List<ComparacaoRevisao> revisoes = gerenciador.publicarImportacao(lote.getListasImportadas());
+                        for (ComparacaoRevisao c : revisoes) {
+                            resumo.append("\n\nNova revisão\n").append(c.resumo());
+                        }
+                        atualizarComboObras();
+                        atualizarTabela();
+                    }
+
+                    JTextArea txtResumo = new JTextArea(resumo.toString(), 15, 70);
+                    txtResumo.setEditable(false);
+                    JOptionPane.showMessageDialog(ControleVidrosApp.this, new JScrollPane(txtResumo),
+                            "Importação da Pasta", JOptionPane.INFORMATION_MESSAGE);
+                } catch (Exception ex) {
+                    JOptionPane.showMessageDialog(ControleVidrosApp.this, "Erro ao importar: " + ex.getMessage());
+                    ex.printStackTrace();
+                }
+            }
+        }.execute();
+    }
+
+    // Liga/desliga a importação automática dos arquivos que chegarem em uma pasta
+    private void acaoMonitorarPasta(JToggleButton botao) {
+        if (!botao.isSelected()) {
+            if (monitor != null) monitor.encerrar();
+            monitor = null;
+            lblMonitor.setText("Monitor: desligado");
+            return;
+        }
+
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setDialogTitle("Selecione a pasta a ser monitorada");
+        fileChooser.setFileSelectionMode(JFileChooser.DIRECTORIES_ONLY);
+
+        if (fileChooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            botao.setSelected(false);
+            return;
+        }
+
+        MonitorPasta novo = new MonitorPasta(fileChooser.getSelectedFile(), this::publicarImportacaoAutomatica);
+        try {
+            novo.iniciar();
+            monitor = novo;
+            lblMonitor.setText("Monitor: " + novo.getPasta().getName());
+        } catch (IOException ex) {
+            novo.encerrar();
+            botao.setSelected(false);
+            JOptionPane.showMessageDialog(this, "Erro ao monitorar a pasta: " + ex.getMessage());
+            ex.printStackTrace();
+        }
+    }
+
+    // Chamado na thread do monitor: publica tudo de uma vez na thread da interface e espera terminar,
+    // para que o arquivo só seja marcado como importado depois de estar no gerenciador
+    private void publicarImportacaoAutomatica(List<ImportadorLote.ResultadoArquivo> resultados) {
+        try {
+            SwingUtilities.invokeAndWait(() -> {
+                List<List<Vidro>> listas = new ArrayList<>();
+                int itens = 0;
+                for (ImportadorLote.ResultadoArquivo r : resultados) {
+                    if (r.isImportado()) {
+                        listas.add(r.getVidros());
+                        itens += r.getVidros().size();
+                    } else {
+                        System.err.println("Monitor: " + r.getArquivo().getName() + " ignorado (" + r.getErro() + ")");
+                    }
+                }
+                if (listas.isEmpty()) return;
+
+                List<ComparacaoRevisao> revisoes = gerenciador.publicarImportacao(listas);
+                for (ComparacaoRevisao c : revisoes) {
+                    System.out.println("Monitor: nova revisão\n" + c.resumo());
+                }
+                atualizarComboObras();
+                atualizarTabela();
+
+                lblMonitor.setText("Monitor: " + resultados.get(0).getArquivo().getParentFile().getName() + " | " + listas.size() +
+                        " lista(s), " + itens + " itens às " + LocalTime.now().format(DateTimeFormatter.ofPattern("HH:mm:ss")));
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Publicação interrompida", e);
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
     private String getIdSelecionado() {
         int row = tabelaVidros.getSelectedRow();
         if (row == -1) return null;
@@ -330,9 +811,7 @@ public class ControleVidrosApp extends JFrame {
                 // Chama o gerenciador e verifica se deu certo
                 boolean sucesso = gerenciador.darEntradaFabrica(idUnico, qtd);
 
-                if (sucesso) {
-                    atualizarTabela();
-                } else {
+                if (!sucesso) {
                     JOptionPane.showMessageDialog(this, "Erro ao atualizar item (ID não encontrado.");
                 }
             } catch (NumberFormatException ex) {
@@ -362,8 +841,7 @@ public class ControleVidrosApp extends JFrame {
         if (input != null) {
             try {
                 int qtd = Integer.parseInt(input);
-                gerenciador.darBaixaCorte(idUnico, qtd);
-                atualizarTabela();
+                gerenciador.darBaixaCorte(idUnico, qtd);   // A linha é atualizada pelo modelo
             } catch (NumberFormatException ex) {
                 JOptionPane.showMessageDialog(this, "Número inválido.");
             } catch (Exception ex) {
@@ -379,7 +857,7 @@ public class ControleVidrosApp extends JFrame {
         String input = JOptionPane.showInputDialog(this, "Quantidade enviada ao ROMANEIO:");
         if (input != null) {
             try {
-                if (gerenciador.registrarEnvio(id, Integer.parseInt(input))) { atualizarTabela(); }
+                gerenciador.registrarEnvio(id, Integer.parseInt(input));
             } catch (Exception e) { JOptionPane.showMessageDialog(this, "Inválido"); }
         }
     }
@@ -391,7 +869,7 @@ public class ControleVidrosApp extends JFrame {
         String input = JOptionPane.showInputDialog(this, "Quantidade Entregue Direto:");
         if (input != null) {
             try {
-                if (gerenciador.registrarEnvioDireto(id, Integer.parseInt(input))) { atualizarTabela(); }
+                gerenciador.registrarEnvioDireto(id, Integer.parseInt(input));
             } catch (Exception e) { JOptionPane.showMessageDialog(this, "Inválido"); }
         }
     }
@@ -419,7 +897,6 @@ public class ControleVidrosApp extends JFrame {
 
                 boolean ok = gerenciador.registrarReposicao(id, qtd, origem);
                 if (ok) {
-                    atualizarTabela();
                     JOptionPane.showMessageDialog(this, "Reposição Registrada!");
                 }
             } catch (NumberFormatException ex) {
@@ -432,14 +909,10 @@ public class ControleVidrosApp extends JFrame {
         int row = tabelaVidros.getSelectedRow();
         if (row == -1) return;
 
-        String idUnico = (String) tableModel.getValueAt(row, 0);
-
-        // Busca o objeto completo na lista do gerenciador
-        Vidro vidro = gerenciador.getTodosVidros().stream()
-                .filter(v -> v.getIdItemUnico().equals(idUnico))
-                .findFirst().orElse(null);
-
+        String idUnico = (String) tableModel.getValueAt(tabelaVidros.convertRowIndexToModel(row), 0);
 
+        // Busca o objeto completo pelo índice do gerenciador
+        Vidro vidro = gerenciador.buscarVidro(idUnico);
 
         if (vidro != null) {
             JOptionPane.showMessageDialog(this,
@@ -457,39 +930,70 @@ public class ControleVidrosApp extends JFrame {
     }
 
     // Coloração das Linhas (Renderer)
+    // Chamado para cada célula desenhada: cores fixas por status e textos já prontos, sem criar objetos.
     static class StatusColorRenderer extends DefaultTableCellRenderer {
+
+        private static final Color VERDE_INTENSO = new Color(80, 255, 80);
+        private static final Color VERDE_COMUM = new Color(144, 238, 144);
+        private static final Color VERMELHO_INTENSO = new Color(255, 60, 60);
+        private static final Color VERDE_CLARO = new Color(200, 255, 200);
+        private static final Color AMARELO_INTENSO = new Color(255, 255, 0);
+        private static final Color VERMELHO_CLARO = new Color(255, 200, 200);
+
+        // Cor de fundo de cada status, na ordem do enum
+        private static final Color[] CORES = new Color[StatusVidro.values().length];
+
+        static {
+            for (StatusVidro status : StatusVidro.values()) {
+                CORES[status.ordinal()] = switch (status) {
+                    case ENTREGUE_NA_OBRA -> VERDE_INTENSO;
+                    case ENVIADO_PARCIAL -> VERDE_COMUM;
+                    case EM_REPOSICAO -> VERMELHO_INTENSO;
+                    case PRONTO_PARA_ENVIO -> VERDE_CLARO;
+                    case PRONTO_PARA_CORTE -> AMARELO_INTENSO;
+                    case FALTA_MATERIAL -> VERMELHO_CLARO;
+                    default -> Color.WHITE;
+                };
+            }
+        }
+
+        // Texto dos números mais comuns (medidas e quantidades), montado uma vez
+        private static final String[] NUMEROS = new String[ModeloTabelaVidros.MAIOR_INTEIRO_CACHE + 1];
+
+        private final ModeloTabelaVidros modelo;
+
+        StatusColorRenderer(ModeloTabelaVidros modelo) {
+            this.modelo = modelo;
+        }
+
         @Override
         public Component getTableCellRendererComponent(JTable table, Object value,
                                                        boolean isSelected, boolean hasFocus, int row, int column) {
             Component c = super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
 
-            Object valorStatus = table.getModel().getValueAt(table.convertRowIndexToModel(row), 11);
-
-            String status = (valorStatus != null) ? valorStatus.toString() : "";
-
             if (!isSelected) {  // Mantém a cor de seleção padrão se selecionado
-                if (status.contains("ENTREGUE")) {
-                    c.setBackground(new Color(80, 255, 80));    // Verde Intenso
-                } else if (status.contains("ENVIADO PARCIAL")) {
-                    c.setBackground(new Color(144, 238, 144));  // Verde Comum
-                } else if (status.contains("REPOSIÇÃO")) {
-                    c.setBackground(new Color(255, 60, 60));    // Vermelho Intenso
-                } else if (status.contains("PRONTO P/ ENVIO")) {
-                    c.setBackground(new Color(200, 255, 200));  // Verde Claro
-                } else if (status.contains("PRONTO P/ CORTE")) {
-                    c.setBackground(new Color(255, 255, 0));    // Amarelo Intenso
-                } else if (status.contains("FALTA MATERIAL")) {
-                    c.setBackground(new Color(255, 200, 200));  // Vermelho Claro
-                } else if (status.contains("NA FÁBRICA")) {
-                    c.setBackground(new Color(255, 255, 200));  // Amarelo Claro
-                } else {
-                    c.setBackground(Color.WHITE);
-                }
+                // Status lido direto do Vidro da linha (sem comparar textos)
+                StatusVidro status = modelo.getStatus(table.convertRowIndexToModel(row));
+                c.setBackground(CORES[status.ordinal()]);
                 c.setForeground(Color.BLACK);
             }
 
             return c;
         }
+
+        @Override
+        protected void setValue(Object value) {
+            if (value instanceof Integer numero && numero >= 0 && numero < NUMEROS.length) {
+                String texto = NUMEROS[numero];
+                if (texto == null) {
+                    texto = numero.toString();
+                    NUMEROS[numero] = texto;
+                }
+                setText(texto);
+            } else {
+                super.setValue(value);
+            }
+        }
     }
 
     public static void main(String[] args) {
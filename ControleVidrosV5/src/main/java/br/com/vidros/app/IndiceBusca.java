@@ -0,0 +1,119 @@
+package br.com.vidros.app;
+
+import br.com.vidros.modelo.Vidro;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+// Índice da busca da tabela: cada palavra de posição, tipologia, especificação e ID aponta para as linhas
+// do modelo onde aparece. As palavras ficam ordenadas (TreeMap), então "TEMP" acha TEMPERADO, TEMPERADA...
+// sem percorrer as células. Montado uma vez por conteúdo da tabela; as movimentações não mudam esses campos.
+class IndiceBusca {
+
+    private final int totalLinhas;
+
+    // Palavra (maiúscula, sem acento) -> linhas em ordem crescente
+    private final NavigableMap<String, int[]> palavras;
+
+    private IndiceBusca(int totalLinhas, NavigableMap<String, int[]> palavras) {
+        this.totalLinhas = totalLinhas;
+        this.palavras = palavras;
+    }
+
+    static IndiceBusca montar(List<Vidro> linhas) {
+        Map<String, int[]> parcial = new HashMap<>();    // Lista de linhas em crescimento: [0] = quantidade
+        for (int linha = 0; linha < linhas.size(); linha++) {
+            Vidro v = linhas.get(linha);
+            indexar(parcial, v.getPosicao(), linha);
+            indexar(parcial, v.getTipologia(), linha);
+            indexar(parcial, v.getEspecificacao(), linha);
+            indexar(parcial, v.getIdItemUnico(), linha);
+        }
+
+        NavigableMap<String, int[]> palavras = new TreeMap<>();
+        for (Map.Entry<String, int[]> e : parcial.entrySet()) {
+            int[] lista = e.getValue();
+            palavras.put(e.getKey(), Arrays.copyOfRange(lista, 1, lista[0] + 1));
+        }
+        return new IndiceBusca(linhas.size(), palavras);
+    }
+
+    // Linhas que têm, para cada termo da busca, alguma palavra começando por ele (null = busca vazia, mostra tudo)
+    BitSet buscar(String texto) {
+        String[] termos = normalizar(texto).split("[^A-Z0-9]+");
+        BitSet resultado = null;
+        for (String termo : termos) {
+            if (termo.isEmpty()) continue;
+
+            BitSet doTermo = new BitSet(totalLinhas);
+            for (int[] linhas : palavras.subMap(termo, true, termo + Character.MAX_VALUE, false).values()) {
+                for (int linha : linhas) doTermo.set(linha);
+            }
+
+            if (resultado == null) {
+                resultado = doTermo;
+            } else {
+                resultado.and(doTermo);
+            }
+            if (resultado.isEmpty()) break;
+        }
+        return resultado;
+    }
+
+    // Funções Auxiliares
+
+    // Separa o texto em palavras (letras e números) e registra a linha em cada uma
+    private static void indexar(Map<String, int[]> parcial, String texto, int linha) {
+        if (texto == null || texto.isEmpty()) return;
+        String normalizado = normalizar(texto);
+        int inicio = -1;
+        for (int i = 0; i <= normalizado.length(); i++) {
+            boolean letraOuNumero = i < normalizado.length() && isLetraOuNumero(normalizado.charAt(i));
+            if (letraOuNumero && inicio == -1) {
+                inicio = i;
+            } else if (!letraOuNumero && inicio != -1) {
+                adicionar(parcial, normalizado.substring(inicio, i), linha);
+                inicio = -1;
+            }
+        }
+    }
+
+    private static void adicionar(Map<String, int[]> parcial, String palavra, int linha) {
+        int[] lista = parcial.get(palavra);
+        if (lista == null) {
+            lista = new int[4];
+        } else if (lista[0] > 0 && lista[lista[0]] == linha) {
+            return;     // Mesma palavra repetida na mesma linha
+        } else if (lista[0] + 1 == lista.length) {
+            lista = Arrays.copyOf(lista, lista.length * 2);
+        }
+        lista[++lista[0]] = linha;
+        parcial.put(palavra, lista);
+    }
+
+    private static boolean isLetraOuNumero(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+    }
+
+    // Maiúsculas sem acentos (o caminho com Normalizer só para textos fora do ASCII)
+    static String normalizar(String texto) {
+        for (int i = 0; i < texto.length(); i++) {
+            if (texto.charAt(i) >= 0x80) {
+                String decomposto = Normalizer.normalize(texto.toUpperCase(Locale.ROOT), Normalizer.Form.NFD);
+                StringBuilder sb = new StringBuilder(decomposto.length());
+                for (int j = 0; j < decomposto.length(); j++) {
+                    if (decomposto.charAt(j) < 0x80) sb.append(decomposto.charAt(j));
+                }
+                return sb.toString();
+            }
+        }
+        return texto.toUpperCase(Locale.ROOT);
+    }
+}
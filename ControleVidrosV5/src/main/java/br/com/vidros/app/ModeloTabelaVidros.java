@@ -0,0 +1,188 @@
+package br.com.vidros.app;
+
+import br.com.vidros.controle.OuvinteAlteracao;
+import br.com.vidros.modelo.StatusVidro;
+import br.com.vidros.modelo.Vidro;
+
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+// Modelo da tabela principal: lê os campos do Vidro na hora de desenhar (sem copiar para Object[]).
+// Recebe as movimentações do gerenciador e atualiza apenas a linha do vidro alterado.
+class ModeloTabelaVidros extends AbstractTableModel implements OuvinteAlteracao {
+
+    private static final String[] COLUNAS = {
+            "ID",               // 0 (Oculto)
+            "Obra",             // 1
+            "Lista",            // 2
+            "Posição",          // 3
+            "Tipologia",        // 4
+            "Especificação",    // 5
+            "L (mm)",           // 6
+            "H (mm)",           // 7
+            "Total",            // 8
+            "Chegou",           // 9
+            "Cortado",          // 10
+            "Status"            // 11
+    };
+
+    // Números até aqui saem sempre do mesmo Integer (medidas em mm e quantidades), sem boxing ao desenhar
+    static final int MAIOR_INTEIRO_CACHE = 9999;
+    private static final Integer[] INTEIROS = new Integer[MAIOR_INTEIRO_CACHE + 1];
+
+    static {
+        for (int i = 0; i < INTEIROS.length; i++) INTEIROS[i] = i;
+    }
+
+    private List<Vidro> linhas = new ArrayList<>();
+
+    // Índice da busca, montado em segundo plano na primeira busca depois de trocar o conteúdo
+    private IndiceBusca indiceBusca;                // null = ainda não montado
+    private List<Vidro> indiceEmMontagem;           // Conteúdo cujo índice está sendo montado
+    private Consumer<IndiceBusca> aoMontarIndice;   // Busca que espera o índice (só a última)
+
+    // Texto do status de cada linha, montado na primeira vez que é desenhado (null = ainda não montado)
+    private String[] textoStatus = new String[0];
+
+    // Vidro -> linha do modelo, para achar a linha alterada sem percorrer a tabela
+    private Map<Vidro, Integer> linhaDoVidro = new IdentityHashMap<>();
+
+    // Troca o conteúdo da tabela (filtro de obra, importação, exclusão de lista).
+    // Guarda uma cópia: a lista geral do gerenciador muda antes de a tabela ser avisada.
+    void setLinhas(List<Vidro> vidros) {
+        List<Vidro> copia = new ArrayList<>(vidros);
+        Map<Vidro, Integer> indice = new IdentityHashMap<>(copia.size() * 2);
+        for (int i = 0; i < copia.size(); i++) {
+            indice.putIfAbsent(copia.get(i), i);
+        }
+        linhas = copia;
+        linhaDoVidro = indice;
+        textoStatus = new String[copia.size()];
+        indiceBusca = null;
+        indiceEmMontagem = null;
+        fireTableDataChanged();
+    }
+
+    Vidro getVidro(int linhaModelo) {
+        return linhas.get(linhaModelo);
+    }
+
+    // Descarta a busca que esperava o índice (caixa de busca apagada enquanto montava)
+    void cancelarBusca() {
+        aoMontarIndice = null;
+    }
+
+    // Executa a busca com o índice do conteúdo atual (na hora, ou quando terminar de montar)
+    void comIndiceBusca(Consumer<IndiceBusca> busca) {
+        if (indiceBusca != null) {
+            busca.accept(indiceBusca);
+            return;
+        }
+        aoMontarIndice = busca;
+        if (indiceEmMontagem == linhas) return;     // Já está montando: usa a busca mais recente
+
+        List<Vidro> base = linhas;      // Cópia própria do modelo, não muda enquanto monta
+        indiceEmMontagem = base;
+        new SwingWorker<IndiceBusca, Void>() {
+            @Override
+            protected IndiceBusca doInBackground() {
+                return IndiceBusca.montar(base);
+            }
+
+            @Override
+            protected void done() {
+                if (linhas != base) return;     // Conteúdo trocado no meio: a próxima busca monta de novo
+                try {
+                    indiceBusca = get();
+                    indiceEmMontagem = null;
+                    Consumer<IndiceBusca> pendente = aoMontarIndice;
+                    aoMontarIndice = null;
+                    if (pendente != null) pendente.accept(indiceBusca);
+                } catch (InterruptedException | ExecutionException e) {
+                    indiceEmMontagem = null;
+                    e.printStackTrace();
+                }
+            }
+        }.execute();
+    }
+
+    StatusVidro getStatus(int linhaModelo) {
+        return linhas.get(linhaModelo).getStatus();
+    }
+
+    // Chamado pelo gerenciador (na thread de quem fez a movimentação)
+    @Override
+    public void vidroAlterado(Vidro vidro) {
+        if (!SwingUtilities.isEventDispatchThread()) {
+            SwingUtilities.invokeLater(() -> vidroAlterado(vidro));
+            return;
+        }
+        Integer linha = linhaDoVidro.get(vidro);
+        if (linha == null) return;  // Vidro fora do filtro: nada a fazer
+        textoStatus[linha] = null;
+        fireTableRowsUpdated(linha, linha);
+    }
+
+    @Override
+    public int getRowCount() {
+        return linhas.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUNAS.length;
+    }
+
+    @Override
+    public String getColumnName(int coluna) {
+        return COLUNAS[coluna];
+    }
+
+    // Medidas e quantidades como Integer: a ordenação pelo cabeçalho fica numérica (9 antes de 10)
+    @Override
+    public Class<?> getColumnClass(int coluna) {
+        return (coluna >= 6 && coluna <= 10) ? Integer.class : String.class;
+    }
+
+    @Override
+    public Object getValueAt(int linha, int coluna) {
+        Vidro v = linhas.get(linha);
+        return switch (coluna) {
+            case 0 -> v.getIdItemUnico();
+            case 1 -> v.getNomeObra();
+            case 2 -> v.getListaOrigem();
+            case 3 -> v.getPosicao();
+            case 4 -> v.getTipologia();
+            case 5 -> v.getEspecificacao();
+            case 6 -> inteiro(v.getLarguraMM());
+            case 7 -> inteiro(v.getAlturaMM());
+            case 8 -> inteiro(v.getQuantidadeTotal());
+            case 9 -> inteiro(v.getQtdChegouFabrica());
+            case 10 -> inteiro(v.getQtdCortada());
+            case 11 -> textoStatus(linha, v);
+            default -> null;
+        };
+    }
+
+    // Funções Auxiliares
+
+    private String textoStatus(int linha, Vidro v) {
+        String texto = textoStatus[linha];
+        if (texto == null) {
+            texto = v.getStatusGeral();
+            textoStatus[linha] = texto;
+        }
+        return texto;
+    }
+
+    private static Integer inteiro(int valor) {
+        return (valor >= 0 && valor <= MAIOR_INTEIRO_CACHE) ? INTEIROS[valor] : Integer.valueOf(valor);
+    }
+}
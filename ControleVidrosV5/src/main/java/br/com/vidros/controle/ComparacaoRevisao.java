@@ -0,0 +1,185 @@
+package br.com.vidros.controle;
+
+import br.com.vidros.modelo.Vidro;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Comparação entre a revisão atual de uma lista (ex.: R00) e a nova revisão importada (ex.: R01).
+// Cada peça nova é casada com a antiga pela chave posição + tipologia + medidas (a mesma do ID);
+// quem casa herda as quantidades já lançadas (entrada, corte, reposição, envio).
+// Sem casamento exato, posição + tipologia iguais indicam peça redimensionada.
+// Tudo com tabelas hash: tempo linear no tamanho das duas listas.
+public class ComparacaoRevisao {
+
+    // Peça da revisão atual e a peça correspondente na nova revisão
+    public static class Par {
+        private final Vidro anterior;
+        private final Vidro novo;
+
+        Par(Vidro anterior, Vidro novo) {
+            this.anterior = anterior;
+            this.novo = novo;
+        }
+
+        public Vidro getAnterior() { return anterior; }
+
+        public Vidro getNovo() { return novo; }
+    }
+
+    private final String obra;
+    private final String lista;
+
+    private final List<Vidro> resultado = new ArrayList<>();          // Nova revisão já com as quantidades herdadas
+    private final List<Par> mantidos = new ArrayList<>();
+    private final List<Par> quantidadeAlterada = new ArrayList<>();   // Mantidos com outra quantidade total
+    private final List<Par> redimensionados = new ArrayList<>();
+    private final List<Vidro> adicionados = new ArrayList<>();
+    private final List<Vidro> removidos = new ArrayList<>();
+
+    ComparacaoRevisao(String obra, String lista, List<Vidro> atual, List<Vidro> novaRevisao) {
+        this.obra = obra;
+        this.lista = lista;
+        comparar(atual, novaRevisao);
+    }
+
+    private void comparar(List<Vidro> atual, List<Vidro> novaRevisao) {
+        // 1. Indexa a revisão atual pelas duas chaves (itens repetidos casam na ordem da lista)
+        Map<String, ArrayDeque<Vidro>> porChave = new HashMap<>(atual.size() * 2);
+        Map<String, ArrayDeque<Vidro>> porPosicao = new HashMap<>(atual.size() * 2);
+        for (Vidro v : atual) {
+            porChave.computeIfAbsent(v.getIdItemUnico(), k -> new ArrayDeque<>()).add(v);
+        }
+
+        // 2. Casamento exato: mesma posição, tipologia e medidas
+        Set<Vidro> usados = Collections.newSetFromMap(new IdentityHashMap<>(atual.size() * 2));
+        Vidro[] casados = new Vidro[novaRevisao.size()];
+        for (int i = 0; i < novaRevisao.size(); i++) {
+            ArrayDeque<Vidro> candidatos = porChave.get(novaRevisao.get(i).getIdItemUnico());
+            Vidro anterior = (candidatos != null) ? candidatos.poll() : null;
+            if (anterior != null) {
+                casados[i] = anterior;
+                usados.add(anterior);
+            }
+        }
+
+        // 3. O que sobrou da revisão atual, pela chave sem as medidas
+        for (Vidro v : atual) {
+            if (!usados.contains(v)) {
+                porPosicao.computeIfAbsent(chaveSemMedidas(v), k -> new ArrayDeque<>()).add(v);
+            }
+        }
+
+        // 4. Monta a nova revisão na ordem do arquivo
+        for (int i = 0; i < novaRevisao.size(); i++) {
+            Vidro novo = novaRevisao.get(i);
+            Vidro anterior = casados[i];
+
+            if (anterior != null) {
+                Vidro herdado = herdarQuantidades(anterior, novo);
+                Par par = new Par(anterior, herdado);
+                mantidos.add(par);
+                if (anterior.getQuantidadeTotal() != novo.getQuantidadeTotal()) {
+                    quantidadeAlterada.add(par);
+                }
+                resultado.add(herdado);
+                continue;
+            }
+
+            ArrayDeque<Vidro> mesmaPosicao = porPosicao.get(chaveSemMedidas(novo));
+            Vidro antigo = (mesmaPosicao != null) ? mesmaPosicao.poll() : null;
+            if (antigo != null) {
+                // Medidas mudaram: é outra peça, o que foi lançado na antiga não vale para ela
+                redimensionados.add(new Par(antigo, novo));
+                usados.add(antigo);
+            } else {
+                adicionados.add(novo);
+            }
+            resultado.add(novo);
+        }
+
+        // 5. Peças da revisão atual que não aparecem mais (na ordem da lista)
+        for (Vidro v : atual) {
+            if (!usados.contains(v)) removidos.add(v);
+        }
+    }
+
+    // Nova peça com as quantidades já lançadas na peça da revisão anterior
+    private static Vidro herdarQuantidades(Vidro anterior, Vidro novo) {
+        return new Vidro(novo.getNomeObra(), novo.getListaOrigem(), novo.getIdItemUnico(), novo.getPosicao(),
+                novo.getTipologia(), novo.getEspecificacao(), novo.getLarguraMM(), novo.getAlturaMM(),
+                novo.getQuantidadeTotal(), anterior.getQtdChegouFabrica(), anterior.getQtdCortada(),
+                anterior.getQtdReposicao(), anterior.getQtdEnviada());
+    }
+
+    // ID sem o sufixo "-LARGURAxALTURA" (obra-lista-posição-tipologia, já sem espaços e em maiúsculas)
+    private static String chaveSemMedidas(Vidro v) {
+        String id = v.getIdItemUnico();
+        String medidas = "-" + v.getLarguraMM() + "X" + v.getAlturaMM();
+        return id.endsWith(medidas) ? id.substring(0, id.length() - medidas.length()) : id;
+    }
+
+    // Getters
+
+    public String getObra() { return obra; }
+
+    public String getLista() { return lista; }
+
+    public List<Vidro> getResultado() { return resultado; }
+
+    public List<Par> getMantidos() { return mantidos; }
+
+    public List<Par> getQuantidadeAlterada() { return quantidadeAlterada; }
+
+    public List<Par> getRedimensionados() { return redimensionados; }
+
+    public List<Vidro> getAdicionados() { return adicionados; }
+
+    public List<Vidro> getRemovidos() { return removidos; }
+
+    // Texto para mostrar ao usuário depois da atualização
+    public String resumo() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Obra ").append(obra).append(" / Lista ").append(lista).append("\n");
+        sb.append("Mantidas (quantidades preservadas): ").append(mantidos.size()).append("\n");
+        sb.append("Adicionadas: ").append(adicionados.size()).append("\n");
+        sb.append("Removidas: ").append(removidos.size()).append("\n");
+        sb.append("Redimensionadas: ").append(redimensionados.size()).append("\n");
+        sb.append("Com quantidade alterada: ").append(quantidadeAlterada.size()).append("\n");
+
+        for (Vidro v : adicionados) {
+            sb.append("\n+ ").append(descrever(v));
+        }
+        for (Vidro v : removidos) {
+            sb.append("\n- ").append(descrever(v));
+            if (temLancamentos(v)) sb.append("  (tinha lançamentos: ").append(v.getStatusGeral()).append(")");
+        }
+        for (Par p : redimensionados) {
+            sb.append("\n~ ").append(descrever(p.getAnterior())).append(" -> ")
+                    .append(p.getNovo().getLarguraMM()).append("x").append(p.getNovo().getAlturaMM());
+            if (temLancamentos(p.getAnterior())) {
+                sb.append("  (a peça antiga tinha lançamentos: ").append(p.getAnterior().getStatusGeral()).append(")");
+            }
+        }
+        for (Par p : quantidadeAlterada) {
+            sb.append("\n# ").append(descrever(p.getAnterior())).append(": quantidade ")
+                    .append(p.getAnterior().getQuantidadeTotal()).append(" -> ").append(p.getNovo().getQuantidadeTotal());
+        }
+        return sb.toString();
+    }
+
+    private static String descrever(Vidro v) {
+        return v.getPosicao() + " " + v.getTipologia() + " " + v.getLarguraMM() + "x" + v.getAlturaMM() +
+                " (" + v.getQuantidadeTotal() + " pç)";
+    }
+
+    private static boolean temLancamentos(Vidro v) {
+        return v.getQtdChegouFabrica() > 0 || v.getQtdCortada() > 0 || v.getQtdReposicao() > 0 || v.getQtdEnviada() > 0;
+    }
+}
@@ -1,145 +1,522 @@
 package br.com.vidros.controle;
 
+import br.com.vidros.modelo.PoolStrings;
+import br.com.vidros.modelo.StatusVidro;
 import br.com.vidros.modelo.Vidro;
+import br.com.vidros.persistencia.FormatoSnapshot;
+import br.com.vidros.persistencia.GravacaoAtomica;
+import br.com.vidros.persistencia.JournalMovimentos;
+import br.com.vidros.persistencia.PersistenciaAssincrona;
+import br.com.vidros.persistencia.RegistroMovimento;
+import br.com.vidros.persistencia.SnapshotJson;
+import br.com.vidros.persistencia.VidroTypeAdapter;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import com.google.gson.reflect.TypeToken;
 
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.lang.reflect.Type;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class GerenciadorVidros {
 
-    // Lista central que armazena todos os vidros
+    // Lista central que armazena todos os vidros. Excluir uma lista só esvazia (null) as posições dela;
+    // as posições vazias são descartadas de uma vez quando passam da metade da lista.
     private List<Vidro> controleGeral = new ArrayList<>();
+    private final Map<Vidro, Integer> posicaoNaLista = new IdentityHashMap<>();
+    private int posicoesVazias = 0;
 
-    // Nome do arquivo onde todos os dados serão salvos
-    private final String ARQUIVO_DADOS = "controle_vidros.json";
+    // Índice primário (idItemUnico -> Vidro) para busca O(1) nas movimentações
+    private final IndiceIdVidro indicePorId = new IndiceIdVidro();
 
-    // Objeto Gson, formatando o Json (pretty printing)
-    private final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+    // Itens com ID repetido que ficaram fora do índice primário (ID -> itens na ordem da lista central)
+    private final Map<String, List<Vidro>> idsRepetidos = new HashMap<>();
+
+    // Índice secundário (OBRA -> LISTA -> itens), com chaves normalizadas em maiúsculas
+    private final Map<String, Map<String, List<Vidro>>> indicePorObra = new LinkedHashMap<>();
+
+    // Bitsets por status, faltantes e obra, pela posição na lista central (filtros rápidos da tela)
+    private final IndiceStatus indiceStatus = new IndiceStatus();
+
+    // Formato do arquivo onde todos os dados serão salvos (JSON ou binário compacto)
+    private final FormatoSnapshot formato = FormatoSnapshot.configurado();
+
+    // Versões anteriores do arquivo de dados mantidas para recuperação ("<arquivo>.1", ".2", ...)
+    private static final int GERACOES_SNAPSHOT = Integer.getInteger("vidros.geracoes", 3);
+
+    // Journal com as movimentações feitas depois do último snapshot
+    private final String ARQUIVO_JOURNAL = "controle_vidros.journal";
+
+    // Textos repetidos da carga (snapshot + replay do journal), limpo ao fim de carregarDados
+    private final PoolStrings textosCarga = new PoolStrings();
+
+    // Objeto Gson do journal (Vidro convertido pelo adapter manual, sem reflexão)
+    private final Gson gson = new GsonBuilder()
+            .registerTypeAdapter(Vidro.class, new VidroTypeAdapter(textosCarga))
+            .create();
+
+    private final JournalMovimentos journal = new JournalMovimentos(new File(ARQUIVO_JOURNAL), gson);
+    private long ultimoSeq = 0;             // Última sequência aplicada em memória
+    private int registrosNaoConsolidados = 0; // Reaplicados do journal na inicialização
+
+    // Gravação do snapshot em segundo plano (fora da thread da interface)
+    private final PersistenciaAssincrona persistencia;
+
+    // Avisados a cada movimentação (ex.: a tabela atualiza só a linha do vidro)
+    private final List<OuvinteAlteracao> ouvintes = new CopyOnWriteArrayList<>();
 
     public GerenciadorVidros() {
         carregarDados();
+        try {
+            journal.abrir();
+        } catch (IOException e) {
+            System.err.println("ERRO: Falha ao abrir o journal de movimentações.");
+            e.printStackTrace();
+        }
+
+        persistencia = PersistenciaAssincrona.configurada(this::consolidarSnapshot);
+        for (int i = 0; i < registrosNaoConsolidados; i++) {
+            persistencia.marcarAlterado();
+        }
     }
 
-    // Funções de Persistência de Dados (List -> JSON File)
+    // Funções de Persistência de Dados (List -> Snapshot File)
+
+    // Consolida o journal em um novo snapshot e descarta os segmentos antigos.
+    // Só a cópia do estado acontece com a trava; a gravação roda sem bloquear as movimentações.
+    // Se cair entre o snapshot e a limpeza, a sequência gravada evita reaplicar registros.
+    // Chamado só pela thread do PersistenciaAssincrona: nunca há duas gravações do mesmo .tmp ao mesmo tempo.
+    private void consolidarSnapshot() {
+        List<Vidro> copia;
+        long seqCopia;
+
+        synchronized (this) {
+            try {
+                journal.rotacionar(ultimoSeq);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            seqCopia = ultimoSeq;
+            copia = new ArrayList<>(controleGeral.size() - posicoesVazias);
+            for (Vidro v : controleGeral) {
+                if (v != null) copia.add(new Vidro(v));
+            }
+        }
+
+        File arquivo = new File(formato.getNomeArquivo());
+        try {
+            // Grava em streaming no temporário e troca pelo arquivo final (mantendo as gerações)
+            GravacaoAtomica.gravar(arquivo, GERACOES_SNAPSHOT, canal -> formato.gravar(canal, seqCopia, copia));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
 
-    public void salvarDados() {
-        // Try-with-resources como garantia para o FileWriter ser fechado
-        try (FileWriter writer = new FileWriter(ARQUIVO_DADOS)) {
+        // Mantém os segmentos necessários para reconstruir a partir de qualquer geração guardada
+        long seqMaisAntiga = seqCopia;
+        for (File geracao : GravacaoAtomica.geracoesExistentes(arquivo, GERACOES_SNAPSHOT)) {
+            try {
+                seqMaisAntiga = Math.min(seqMaisAntiga, formato.lerSeq(geracao));
+            } catch (IOException | RuntimeException e) {
+                // Geração ilegível não será usada na recuperação
+            }
+        }
+        journal.descartarSegmentosAte(seqMaisAntiga);
 
-            // 1. Converte a linha de objetos Vidro para uma String JSON
-            String jsonDados = gson.toJson(controleGeral);
+        System.out.println("Dados salvos com sucesso no arquivo: " + formato.getNomeArquivo());
+    }
 
-            // 2. Escreve a String JSON no arquivo
-            writer.write(jsonDados);
+    // Exporta o controle completo em JSON (backup ou migração entre formatos)
+    public synchronized void exportarJson(File destino) throws IOException {
+        journal.sincronizar();
+        GravacaoAtomica.gravar(destino, 0, canal -> SnapshotJson.gravar(canal, ultimoSeq, getTodosVidros()));
+    }
 
-            System.out.println("Dados salvos com sucesso no arquivo: " + ARQUIVO_DADOS);
+    // Garante tudo em disco ao encerrar o programa
+    public void fechar() {
+        persistencia.encerrar();
+        journal.fechar();
+    }
 
-        } catch (IOException e) {
-            System.err.println("ERRO: Falha ao salvar os dados no arquivo JSON.");
-            e.printStackTrace();
+    // Métricas da gravação em segundo plano (latência e pendências)
+    public PersistenciaAssincrona getPersistencia() {
+        return persistencia;
+    }
+
+    private void registrar(RegistroMovimento registro) {
+        registro.setSeq(++ultimoSeq);
+        journal.anexar(registro);
+        if (persistencia != null) {
+            persistencia.marcarAlterado();
         }
     }
 
-    // (JSON File -> List)
-    public void carregarDados() {
-        File arquivo = new File(ARQUIVO_DADOS);
+    // (Snapshot File -> List)
+    public synchronized void carregarDados() {
+        FormatoSnapshot formatoArquivo = escolherFormatoSnapshot();
+        List<File> candidatos = GravacaoAtomica.geracoesExistentes(
+                new File(formatoArquivo.getNomeArquivo()), GERACOES_SNAPSHOT);
 
         // Se o arquivo não existir, inicia com uma lista vazia
-        if (!arquivo.exists()) {
+        if (candidatos.isEmpty()) {
             System.out.println("Arquivo de dados não encontrado. Iniciando novo controle.");
-            controleGeral = new ArrayList<>();
-            return;
         }
 
-        // Try-with-resources como garantia para o FileReader ser fechado
-        try (FileReader reader = new FileReader(arquivo)) {
+        // Tenta o arquivo atual e, se estiver corrompido, as gerações anteriores
+        boolean carregado = candidatos.isEmpty();
+        for (File arquivo : candidatos) {
+            if (carregarSnapshot(formatoArquivo, arquivo)) {
+                carregado = true;
+                break;
+            }
+        }
 
-            // Define o Tipo específico que o Gson deve deserializar
-            Type tipoListaVidro = new TypeToken<ArrayList<Vidro>>() {}.getType();
+        if (!carregado) {
+            // Garante que o programa inicia mesmo com erro
+            System.err.println("ERRO: Nenhuma geração do arquivo de dados pôde ser lida. Iniciando novo controle.");
+            limparDados();
+        }
+        reaplicarJournal();
 
-            // 1. Lê o arquivo e usa Gson para converter o JSON de volta para a lista
-            List<Vidro> listaCarregada = gson.fromJson(reader, tipoListaVidro);
+        // Memória poupada com os textos compartilhados (obra, lista, tipologia, especificação).
+        // O pool não segura os textos depois da carga: listas excluídas liberam os seus
+        System.out.println(textosCarga.relatorio());
+        textosCarga.limpar();
+    }
 
-            // 2. Garante que a lista não é nula e a atribui ao controleGeral
-            if (listaCarregada != null) {
-                this.controleGeral = listaCarregada;
-                System.out.println("Dados carregados com sucesso. Total de itens: " + controleGeral.size());
-            } else {
-                this.controleGeral = new ArrayList<>();
-                System.out.println("Arquivo JSON vazio ou inválido. Iniciando novo controle.");
+    private boolean carregarSnapshot(FormatoSnapshot formatoArquivo, File arquivo) {
+        limparDados();
+        try {
+            // Lê um Vidro por vez, já preenchendo os índices na mesma passada
+            ultimoSeq = formatoArquivo.ler(arquivo, textosCarga, this::acrescentar);
+
+            System.out.println("Dados carregados com sucesso de " + arquivo.getName() +
+                    ". Total de itens: " + controleGeral.size());
+            return true;
+        } catch (IOException | RuntimeException e) {
+            // Arquivo truncado (queda durante a gravação) ou corrompido
+            System.err.println("ERRO: Falha ao carregar os dados do arquivo " + arquivo.getName() +
+                    " (" + e.getMessage() + "). Tentando a geração anterior.");
+            limparDados();
+            return false;
+        }
+    }
+
+    private void limparDados() {
+        controleGeral = new ArrayList<>();
+        posicaoNaLista.clear();
+        posicoesVazias = 0;
+        indicePorId.limpar();
+        indicePorObra.clear();
+        indiceStatus.limpar();
+        idsRepetidos.clear();
+        ultimoSeq = 0;
+    }
+
+    // Usa o formato com o snapshot mais recente (permite migrar JSON <-> binário)
+    private FormatoSnapshot escolherFormatoSnapshot() {
+        FormatoSnapshot escolhido = formato;
+        File arquivoEscolhido = new File(formato.getNomeArquivo());
+        for (FormatoSnapshot f : FormatoSnapshot.values()) {
+            File candidato = new File(f.getNomeArquivo());
+            if (candidato.exists() && (!arquivoEscolhido.exists() || candidato.lastModified() > arquivoEscolhido.lastModified())) {
+                escolhido = f;
+                arquivoEscolhido = candidato;
+            }
+        }
+        return escolhido;
+    }
+
+    // Reaplica as movimentações do journal que ainda não estão no snapshot
+    private void reaplicarJournal() {
+        List<RegistroMovimento> registros = journal.ler(ultimoSeq);
+        int reaplicados = 0;
+
+        for (RegistroMovimento registro : registros) {
+            if (registro.getSeq() <= ultimoSeq) continue; // Já consolidado no snapshot
+            aplicar(registro);
+            ultimoSeq = registro.getSeq();
+            reaplicados++;
+        }
+
+        registrosNaoConsolidados = reaplicados;
+        if (reaplicados > 0) {
+            System.out.println("Journal reaplicado: " + reaplicados + " movimentações.");
+        }
+    }
+
+    private void aplicar(RegistroMovimento registro) {
+        if (registro.getTipo() == null) return;
+
+        switch (registro.getTipo()) {
+            case LISTA_ADICIONADA -> aplicarAdicao(registro.getVidros());
+            case LISTA_REMOVIDA -> aplicarRemocao(registro.getObra(), registro.getLista());
+            case LISTA_SUBSTITUIDA -> {
+                aplicarRemocao(registro.getObra(), registro.getLista());
+                aplicarAdicao(registro.getVidros());
+            }
+            default -> {
+                Vidro item = buscarPorId(registro.getId());
+                if (item == null) {
+                    System.err.println("AVISO: Item do journal não encontrado: " + registro.getId());
+                    return;
+                }
+                switch (registro.getTipo()) {
+                    case ENTRADA -> aplicarEntrada(item, registro.getQuantidade());
+                    case CORTE -> aplicarCorte(item, registro.getQuantidade());
+                    case ENVIO -> aplicarEnvio(item, registro.getQuantidade());
+                    case ENVIO_DIRETO -> aplicarEnvioDireto(item, registro.getQuantidade());
+                    case REPOSICAO -> aplicarReposicao(item, registro.getQuantidade(), registro.getOrigem());
+                    default -> { }
+                }
             }
-        } catch (IOException e) {
-            System.err.println("ERRO: Falha ao carregar os dados do arquivo JSON.");
-            e.printStackTrace();
-            this.controleGeral = new ArrayList<>(); // Garante que o programa inicia mesmo com erro
         }
     }
 
+    // Funções dos Índices (Primário por ID e Secundário por Obra/Lista)
+
+    // Vidro novo no fim da lista central
+    private void acrescentar(Vidro v) {
+        int posicao = controleGeral.size();
+        posicaoNaLista.putIfAbsent(v, posicao);
+        controleGeral.add(v);
+        indexar(posicao, v);
+    }
+
+    private void indexar(int posicao, Vidro v) {
+        // Em caso de ID repetido, mantém o primeiro (mesmo resultado da busca linear)
+        if (!indicePorId.adicionarSeAusente(v)) {
+            idsRepetidos.computeIfAbsent(v.getIdItemUnico().trim(), k -> new ArrayList<>()).add(v);
+        }
+
+        indicePorObra.computeIfAbsent(chave(v.getNomeObra()), k -> new LinkedHashMap<>())
+                .computeIfAbsent(chave(v.getListaOrigem()), k -> new ArrayList<>())
+                .add(v);
+
+        indiceStatus.adicionar(posicao, v, chave(v.getNomeObra()));
+    }
+
+    // Normaliza Obra/Lista para a comparação sem diferenciar maiúsculas
+    private static String chave(String texto) {
+        return (texto == null) ? "" : texto.toUpperCase(Locale.ROOT);
+    }
+
     // Funções de Gestão (CRUD)
 
     // Categoria de Lista de Obra
-    public void adicionarListaDeObra(List<Vidro> novaLista) {
-        this.controleGeral.addAll(novaLista);
-        this.salvarDados(); // Sempre salva após adicionar novos dados
+    public synchronized void adicionarListaDeObra(List<Vidro> novaLista) {
+        aplicarAdicao(novaLista);
+        registrar(RegistroMovimento.listaAdicionada(novaLista)); // Sempre registra após adicionar novos dados
+    }
+
+    // Várias listas de uma vez (importação em lote): uma só atualização dos índices e um só registro no journal
+    public synchronized void adicionarListasEmLote(List<List<Vidro>> listas) {
+        List<Vidro> todos = new ArrayList<>();
+        for (List<Vidro> lista : listas) {
+            todos.addAll(lista);
+        }
+        if (todos.isEmpty()) return;
+
+        aplicarAdicao(todos);
+        registrar(RegistroMovimento.listaAdicionada(todos));
     }
 
-    public boolean excluirListaDeObra(String nomeObra, String nomeLista) {
-        int tamanhoAntes = controleGeral.size();
+    // Nova revisão de uma lista já cadastrada: troca os itens mantendo os lançamentos das peças que não mudaram
+    public synchronized ComparacaoRevisao atualizarRevisao(String nomeObra, String nomeLista, List<Vidro> novaRevisao) {
+        ComparacaoRevisao comparacao = new ComparacaoRevisao(nomeObra, nomeLista,
+                getItensDaLista(nomeObra, nomeLista), novaRevisao);
 
-        // Remove itens que batem com Obra e Lista
-        controleGeral.removeIf(v -> v.getNomeObra().equalsIgnoreCase(nomeObra) &&
-                v.getListaOrigem().equalsIgnoreCase(nomeLista)
-        );
+        aplicarRemocao(nomeObra, nomeLista);
+        aplicarAdicao(comparacao.getResultado());
+        registrar(RegistroMovimento.listaSubstituida(nomeObra, nomeLista, comparacao.getResultado()));
+        return comparacao;
+    }
+
+    // Listas lidas de uma pasta (importação ou monitor), publicadas de uma vez só (sob o mesmo bloqueio):
+    // listas novas entram juntas; as que já existem passam para a nova revisão
+    public synchronized List<ComparacaoRevisao> publicarImportacao(List<List<Vidro>> listas) {
+        Map<String, List<Vidro>> novas = new LinkedHashMap<>();
+        List<ComparacaoRevisao> revisoes = new ArrayList<>();
+        for (List<Vidro> lista : listas) {
+            if (lista.isEmpty()) continue;
+
+            Vidro primeiro = lista.get(0);
+            if (existeLista(primeiro.getNomeObra(), primeiro.getListaOrigem())) {
+                revisoes.add(atualizarRevisao(primeiro.getNomeObra(), primeiro.getListaOrigem(), lista));
+            } else {
+                // Duas revisões da mesma lista no mesmo lote: fica a última (ordem dos nomes)
+                novas.put(chave(primeiro.getNomeObra()) + "/" + chave(primeiro.getListaOrigem()), lista);
+            }
+        }
+        adicionarListasEmLote(new ArrayList<>(novas.values()));
+        return revisoes;
+    }
 
-        int tamanhoDepois = controleGeral.size();
+    public synchronized boolean existeLista(String nomeObra, String nomeLista) {
+        return !getItensDaLista(nomeObra, nomeLista).isEmpty();
+    }
 
-        if (tamanhoAntes != tamanhoDepois) {
-            salvarDados();
+    public synchronized boolean excluirListaDeObra(String nomeObra, String nomeLista) {
+        if (aplicarRemocao(nomeObra, nomeLista)) {
+            registrar(RegistroMovimento.listaRemovida(nomeObra, nomeLista));
             return true;    // Deletou a Lista
         }
         return false;       // Não achou a Lista
     }
 
-    public List<Vidro> getTodosVidros() {
-        return controleGeral; // retorna a lista de todos os vidros
+    private void aplicarAdicao(List<Vidro> novaLista) {
+        for (Vidro v : novaLista) {
+            acrescentar(v);
+        }
+    }
+
+    private boolean aplicarRemocao(String nomeObra, String nomeLista) {
+        Map<String, List<Vidro>> listas = indicePorObra.get(chave(nomeObra));
+        if (listas == null) return false;       // Não achou a Obra
+
+        List<Vidro> removidos = listas.remove(chave(nomeLista));
+        if (removidos == null) return false;    // Não achou a Lista
+
+        if (listas.isEmpty()) {
+            indicePorObra.remove(chave(nomeObra));
+        }
+
+        // Só as posições e entradas dos itens da lista: o custo não depende do tamanho do controle
+        for (Vidro v : removidos) {
+            Integer posicao = posicaoNaLista.remove(v);
+            if (posicao != null) {
+                controleGeral.set(posicao, null);
+                indiceStatus.remover(posicao, chave(v.getNomeObra()));
+                posicoesVazias++;
+            }
+            removerDoIndicePorId(v);
+        }
+
+        if (posicoesVazias > controleGeral.size() / 2) {
+            compactar();
+        }
+        return true;
+    }
+
+    private void removerDoIndicePorId(Vidro v) {
+        String id = v.getIdItemUnico().trim();
+        List<Vidro> repetidos = idsRepetidos.get(id);
+        if (indicePorId.remover(v)) {
+            // O próximo item com o mesmo ID (o primeiro na lista central) passa a responder pela busca
+            if (repetidos != null) {
+                indicePorId.adicionarSeAusente(repetidos.remove(0));
+            }
+        } else if (repetidos != null) {
+            repetidos.removeIf(r -> r == v);
+        }
+        if (repetidos != null && repetidos.isEmpty()) {
+            idsRepetidos.remove(id);
+        }
+    }
+
+    private void atualizarIndiceStatus(Vidro item) {
+        Integer posicao = posicaoNaLista.get(item);
+        if (posicao != null) indiceStatus.atualizar(posicao, item);
+    }
+
+    // Descarta as posições vazias (uma vez a cada tantas remoções quanto a metade da lista)
+    private void compactar() {
+        List<Vidro> compactada = new ArrayList<>(controleGeral.size() - posicoesVazias);
+        posicaoNaLista.clear();
+        indiceStatus.limpar();
+        for (Vidro v : controleGeral) {
+            if (v == null) continue;
+            int posicao = compactada.size();
+            posicaoNaLista.putIfAbsent(v, posicao);
+            compactada.add(v);
+            indiceStatus.adicionar(posicao, v, chave(v.getNomeObra()));
+        }
+        controleGeral = compactada;
+        posicoesVazias = 0;
     }
 
-    public List<Vidro> filtrarPorObra(String nomeObra) {
-        return controleGeral.stream()
-                .filter(v -> v.getNomeObra().equalsIgnoreCase(nomeObra))
-                .collect(Collectors.toList());
+    public synchronized List<Vidro> getTodosVidros() {
+        if (posicoesVazias == 0) {
+            return controleGeral; // retorna a lista de todos os vidros
+        }
+        List<Vidro> todos = new ArrayList<>(controleGeral.size() - posicoesVazias);
+        for (Vidro v : controleGeral) {
+            if (v != null) todos.add(v);
+        }
+        return todos;
+    }
+
+    public synchronized List<Vidro> filtrarPorObra(String nomeObra) {
+        Map<String, List<Vidro>> listas = indicePorObra.get(chave(nomeObra));
+        if (listas == null) return new ArrayList<>();
+
+        int total = 0;
+        for (List<Vidro> itens : listas.values()) total += itens.size();
+
+        List<Vidro> resultado = new ArrayList<>(total);
+        for (List<Vidro> itens : listas.values()) resultado.addAll(itens);
+        return resultado;
+    }
+
+    // Cópia do agrupamento Obra -> Lista -> itens (nomes como foram importados), para ler fora do bloqueio
+    public synchronized Map<String, Map<String, List<Vidro>>> copiarListasPorObra() {
+        Map<String, Map<String, List<Vidro>>> copia = new LinkedHashMap<>();
+        for (Map<String, List<Vidro>> listas : indicePorObra.values()) {
+            Map<String, List<Vidro>> copiaListas = new LinkedHashMap<>();
+            for (List<Vidro> itens : listas.values()) {
+                copiaListas.put(itens.get(0).getListaOrigem(), new ArrayList<>(itens));
+            }
+            copia.put(listas.values().iterator().next().get(0).getNomeObra(), copiaListas);
+        }
+        return copia;
+    }
+
+    // Nomes das obras cadastradas (uma entrada por obra, sem diferenciar maiúsculas)
+    public synchronized List<String> getObras() {
+        List<String> obras = new ArrayList<>(indicePorObra.size());
+        for (Map<String, List<Vidro>> listas : indicePorObra.values()) {
+            List<Vidro> primeiraLista = listas.values().iterator().next();
+            obras.add(primeiraLista.get(0).getNomeObra());
+        }
+        return obras;
     }
 
     // Rastreia quais vidros chegaram à fábrica e quais faltam
     public List<Vidro> getFaltantesFabrica() {
-        return controleGeral.stream()
-                .filter(v -> v.getQtdChegouFabrica() < v.getQuantidadeTotal())
-                .collect(Collectors.toList());
+        return filtrarPorStatus(null, EnumSet.noneOf(StatusVidro.class), true);
+    }
+
+    // Filtros rápidos: qualquer um dos status (vazio = todos), da obra (null = todas) e, se pedido,
+    // só os que ainda faltam chegar na fábrica. Resultado na ordem da lista central.
+    public synchronized List<Vidro> filtrarPorStatus(String nomeObra, Set<StatusVidro> status, boolean somenteFaltantes) {
+        BitSet posicoes = indiceStatus.consultar(status, (nomeObra == null) ? null : chave(nomeObra), somenteFaltantes);
+        List<Vidro> resultado = new ArrayList<>(posicoes.cardinality());
+        for (int i = posicoes.nextSetBit(0); i >= 0; i = posicoes.nextSetBit(i + 1)) {
+            resultado.add(controleGeral.get(i));
+        }
+        return resultado;
     }
 
     // Chegada na fábrica
-    public boolean darEntradaFabrica(String idItemUnico, int quantidade) {
+    public synchronized boolean darEntradaFabrica(String idItemUnico, int quantidade) {
         // Remove espaços extras do ID para garantir o match
         String idBusca = idItemUnico.trim();
 
-        Vidro item = controleGeral.stream()
-                .filter(v -> v.getIdItemUnico().trim().equals(idBusca))
-                .findFirst().orElse(null);
+        Vidro item = buscarPorId(idBusca);
 
         if (item != null) {
-            int novaQtd = item.getQtdChegouFabrica() + quantidade;
-            item.setQtdChegouFabrica(novaQtd);
-            item.calcularStatus();
-            this.salvarDados();
+            aplicarEntrada(item, quantidade);
+            registrar(RegistroMovimento.movimento(RegistroMovimento.Tipo.ENTRADA, idBusca, quantidade, null));
+            avisarAlteracao(item);
             return true;
         } else {
             System.err.println("ERRO: Item não encontrado com ID: " + idBusca);
@@ -148,18 +525,15 @@ public class GerenciadorVidros {
     }
 
     // Vidros Cortados
-    public boolean darBaixaCorte(String idItemUnico, int quantidade) {
+    public synchronized boolean darBaixaCorte(String idItemUnico, int quantidade) {
         String idBusca = idItemUnico.trim();
 
-        Vidro item = controleGeral.stream()
-                .filter(v -> v.getIdItemUnico().equals(idBusca))
-                .findFirst().orElse(null);
+        Vidro item = buscarPorId(idBusca);
 
         if (item != null) {
-            int novaQtd = item.getQtdCortada() + quantidade;
-            item.setQtdCortada(novaQtd);
-            item.calcularStatus();
-            this.salvarDados();
+            aplicarCorte(item, quantidade);
+            registrar(RegistroMovimento.movimento(RegistroMovimento.Tipo.CORTE, idBusca, quantidade, null));
+            avisarAlteracao(item);
             return true;
         } else {
             System.err.println("ERRO: Item não encontrado para baixa: " + idBusca);
@@ -167,68 +541,130 @@ public class GerenciadorVidros {
         }
     }
 
-    public boolean registrarEnvio(String idItemUnico, int quantidade) {
-        Vidro item = buscarVidro(idItemUnico);
+    public synchronized boolean registrarEnvio(String idItemUnico, int quantidade) {
+        Vidro item = buscarPorId(idItemUnico);
         if (item != null) {
-            item.setQtdEnviada(item.getQtdEnviada() + quantidade);
-            item.calcularStatus();
-            this.salvarDados();
+            aplicarEnvio(item, quantidade);
+            registrar(RegistroMovimento.movimento(RegistroMovimento.Tipo.ENVIO, item.getIdItemUnico(), quantidade, null));
+            avisarAlteracao(item);
             return true;
         }
         return false;
     }
 
-    public boolean registrarEnvioDireto(String idItemUnico, int quantidade) {
-        Vidro item = buscarVidro(idItemUnico);
+    public synchronized boolean registrarEnvioDireto(String idItemUnico, int quantidade) {
+        Vidro item = buscarPorId(idItemUnico);
         if (item != null) {
-            item.setQtdChegouFabrica(item.getQtdChegouFabrica() + quantidade);
-            item.setQtdCortada(item.getQtdCortada() + quantidade);
-            item.setQtdEnviada(item.getQtdEnviada() + quantidade);
-
-            item.calcularStatus();
-            this.salvarDados();
+            aplicarEnvioDireto(item, quantidade);
+            registrar(RegistroMovimento.movimento(RegistroMovimento.Tipo.ENVIO_DIRETO, item.getIdItemUnico(), quantidade, null));
+            avisarAlteracao(item);
             return true;
         }
         return false;
     }
 
-    public boolean registrarReposicao(String idItemUnico, int quantidade, String origemFalha) {
-        Vidro item = buscarVidro(idItemUnico);
+    public synchronized boolean registrarReposicao(String idItemUnico, int quantidade, String origemFalha) {
+        Vidro item = buscarPorId(idItemUnico);
         if (item != null) {
-            // Aumenta o contador de Reposição
-            item.setQtdReposicao(item.getQtdReposicao() + quantidade);
-
-            // Reduz o número pelo caso de quebrar e de perder
-            if (origemFalha.equals("CHEGADA")) {
-                // Se chegou quebrado ou veio errado do fornecedor
-                int novaQtd = Math.max(0, item.getQtdChegouFabrica() - quantidade);
-                item.setQtdChegouFabrica(novaQtd);
-            } else if (origemFalha.equals("CORTE")) {
-                // Se quebrou durante o corte na fábrica
-                int novaQtd = Math.max(0, item.getQtdCortada() - quantidade);
-                item.setQtdCortada(novaQtd);
-            }
-
-            item.calcularStatus();
-            this.salvarDados();
+            aplicarReposicao(item, quantidade, origemFalha);
+            registrar(RegistroMovimento.movimento(RegistroMovimento.Tipo.REPOSICAO, item.getIdItemUnico(), quantidade, origemFalha));
+            avisarAlteracao(item);
             return true;
         }
         return false;
     }
 
-    // Busca por um vidro em específico
-    private Vidro buscarVidro(String id) {
-        return controleGeral.stream()
-                .filter(v -> v.getIdItemUnico().equals(id))
-                .findFirst().orElse(null);
+    public void adicionarOuvinte(OuvinteAlteracao ouvinte) {
+        ouvintes.add(ouvinte);
+    }
+
+    public void removerOuvinte(OuvinteAlteracao ouvinte) {
+        ouvintes.remove(ouvinte);
+    }
+
+    // Só nas ações: o replay do journal acontece antes de existir qualquer ouvinte
+    private void avisarAlteracao(Vidro item) {
+        for (OuvinteAlteracao ouvinte : ouvintes) {
+            ouvinte.vidroAlterado(item);
+        }
+    }
+
+    // Aplicação das Movimentações (usadas tanto nas ações quanto no replay do journal)
+
+    private void aplicarEntrada(Vidro item, int quantidade) {
+        item.setQtdChegouFabrica(item.getQtdChegouFabrica() + quantidade);
+        item.calcularStatus();
+        atualizarIndiceStatus(item);
+    }
+
+    private void aplicarCorte(Vidro item, int quantidade) {
+        item.setQtdCortada(item.getQtdCortada() + quantidade);
+        item.calcularStatus();
+        atualizarIndiceStatus(item);
+    }
+
+    private void aplicarEnvio(Vidro item, int quantidade) {
+        item.setQtdEnviada(item.getQtdEnviada() + quantidade);
+        item.calcularStatus();
+        atualizarIndiceStatus(item);
+    }
+
+    private void aplicarEnvioDireto(Vidro item, int quantidade) {
+        item.setQtdChegouFabrica(item.getQtdChegouFabrica() + quantidade);
+        item.setQtdCortada(item.getQtdCortada() + quantidade);
+        item.setQtdEnviada(item.getQtdEnviada() + quantidade);
+        item.calcularStatus();
+        atualizarIndiceStatus(item);
+    }
+
+    private void aplicarReposicao(Vidro item, int quantidade, String origemFalha) {
+        // Aumenta o contador de Reposição
+        item.setQtdReposicao(item.getQtdReposicao() + quantidade);
+
+        // Reduz o número pelo caso de quebrar e de perder
+        if ("CHEGADA".equals(origemFalha)) {
+            // Se chegou quebrado ou veio errado do fornecedor
+            int novaQtd = Math.max(0, item.getQtdChegouFabrica() - quantidade);
+            item.setQtdChegouFabrica(novaQtd);
+        } else if ("CORTE".equals(origemFalha)) {
+            // Se quebrou durante o corte na fábrica
+            int novaQtd = Math.max(0, item.getQtdCortada() - quantidade);
+            item.setQtdCortada(novaQtd);
+        }
+
+        item.calcularStatus();
+        atualizarIndiceStatus(item);
+    }
+
+    // Busca por um vidro em específico (O(1) pelo índice primário)
+    public synchronized Vidro buscarVidro(String id) {
+        return buscarPorId(id);
+    }
+
+    // Sem o bloqueio: para quem já está dentro de um método synchronized (o índice muda nas importações)
+    private Vidro buscarPorId(String id) {
+        if (id == null) return null;
+        return indicePorId.buscar(id.trim());
+    }
+
+    // Itens de uma lista específica (vazia se a lista não existir)
+    private List<Vidro> getItensDaLista(String nomeObra, String nomeLista) {
+        Map<String, List<Vidro>> listas = indicePorObra.get(chave(nomeObra));
+        if (listas == null) return new ArrayList<>();
+
+        List<Vidro> itens = listas.get(chave(nomeLista));
+        return (itens == null) ? new ArrayList<>() : new ArrayList<>(itens);
     }
 
     // Visualizar a Lista de Origem
-    public List<String> getListasDaObra(String nomeObra) {
-        return controleGeral.stream()
-                .filter(v -> v.getNomeObra().equalsIgnoreCase(nomeObra))
-                .map(Vidro::getListaOrigem)
-                .distinct() // Apenas valores únicos
-                .collect(Collectors.toList());
+    public synchronized List<String> getListasDaObra(String nomeObra) {
+        Map<String, List<Vidro>> listas = indicePorObra.get(chave(nomeObra));
+        if (listas == null) return new ArrayList<>();
+
+        List<String> nomes = new ArrayList<>(listas.size());
+        for (List<Vidro> itens : listas.values()) {
+            nomes.add(itens.get(0).getListaOrigem()); // Apenas valores únicos
+        }
+        return nomes;
     }
 }
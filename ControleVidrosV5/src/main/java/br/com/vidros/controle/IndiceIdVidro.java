@@ -0,0 +1,131 @@
+package br.com.vidros.controle;
+
+import br.com.vidros.modelo.Vidro;
+
+import java.util.Arrays;
+
+// Índice primário (idItemUnico -> Vidro) em endereçamento aberto, usando o hash de 64 bits
+// do ID como chave primitiva (sem objetos de entrada nem chaves String extras por item).
+// Colisões de hash são resolvidas conferindo o ID completo.
+class IndiceIdVidro {
+
+    private static final int CAPACIDADE_INICIAL = 1024;
+
+    private long[] hashes = new long[CAPACIDADE_INICIAL];
+    private Vidro[] vidros = new Vidro[CAPACIDADE_INICIAL];
+    private int tamanho = 0;
+
+    // Adiciona o vidro se o ID ainda não estiver no índice. Retorna false se já havia outro com o mesmo ID.
+    boolean adicionarSeAusente(Vidro v) {
+        if ((tamanho + 1) * 4 > vidros.length * 3) {   // Fator de carga máximo de 75%
+            redimensionar(vidros.length * 2);
+        }
+        String id = chave(v);
+        long hash = hash(v, id);
+        int mascara = vidros.length - 1;
+        int i = posicaoInicial(hash, mascara);
+        while (vidros[i] != null) {
+            if (hashes[i] == hash && chave(vidros[i]).equals(id)) {
+                return false;
+            }
+            i = (i + 1) & mascara;
+        }
+        hashes[i] = hash;
+        vidros[i] = v;
+        tamanho++;
+        return true;
+    }
+
+    Vidro buscar(String id) {
+        long hash = Vidro.hashId(id);
+        int mascara = vidros.length - 1;
+        int i = posicaoInicial(hash, mascara);
+        while (vidros[i] != null) {
+            if (hashes[i] == hash && chave(vidros[i]).equals(id)) {
+                return vidros[i];
+            }
+            i = (i + 1) & mascara;
+        }
+        return null;
+    }
+
+    // Remove a entrada somente se ela apontar para este mesmo objeto
+    boolean remover(Vidro v) {
+        String id = chave(v);
+        long hash = hash(v, id);
+        int mascara = vidros.length - 1;
+        int i = posicaoInicial(hash, mascara);
+        while (vidros[i] != null) {
+            if (vidros[i] == v) {
+                apagarPosicao(i, mascara);
+                tamanho--;
+                return true;
+            }
+            if (hashes[i] == hash && chave(vidros[i]).equals(id)) {
+                return false;   // O ID está indexado, mas para outro item
+            }
+            i = (i + 1) & mascara;
+        }
+        return false;
+    }
+
+    int tamanho() {
+        return tamanho;
+    }
+
+    void limpar() {
+        Arrays.fill(vidros, null);
+        tamanho = 0;
+    }
+
+    // Funções Auxiliares
+
+    // As buscas recebem o ID já sem espaços nas pontas; o item é indexado da mesma forma
+    private static String chave(Vidro v) {
+        return v.getIdItemUnico().trim();
+    }
+
+    // Reaproveita o hash calculado no Vidro quando o ID não precisou de trim
+    private static long hash(Vidro v, String chave) {
+        return (chave == v.getIdItemUnico()) ? v.getHashId() : Vidro.hashId(chave);
+    }
+
+    private static int posicaoInicial(long hash, int mascara) {
+        return (int) (hash ^ (hash >>> 32)) & mascara;
+    }
+
+    // Remoção com deslocamento para trás: mantém as sequências de sondagem sem marcadores de "apagado"
+    private void apagarPosicao(int livre, int mascara) {
+        int i = livre;
+        while (true) {
+            i = (i + 1) & mascara;
+            if (vidros[i] == null) break;
+            int ideal = posicaoInicial(hashes[i], mascara);
+            // Move o item se a posição livre estiver entre a posição ideal dele e a atual
+            boolean mover = (livre <= i) ? (ideal <= livre || ideal > i) : (ideal <= livre && ideal > i);
+            if (mover) {
+                hashes[livre] = hashes[i];
+                vidros[livre] = vidros[i];
+                livre = i;
+            }
+        }
+        vidros[livre] = null;
+    }
+
+    private void redimensionar(int novaCapacidade) {
+        long[] hashesAntigos = hashes;
+        Vidro[] vidrosAntigos = vidros;
+        hashes = new long[novaCapacidade];
+        vidros = new Vidro[novaCapacidade];
+        int mascara = novaCapacidade - 1;
+        for (int j = 0; j < vidrosAntigos.length; j++) {
+            if (vidrosAntigos[j] == null) continue;
+            int i = posicaoInicial(hashesAntigos[j], mascara);
+            while (vidros[i] != null) {
+                i = (i + 1) & mascara;
+            }
+            hashes[i] = hashesAntigos[j];
+            vidros[i] = vidrosAntigos[j];
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package br.com.vidros.controle;
+
+import br.com.vidros.modelo.StatusVidro;
+import br.com.vidros.modelo.Vidro;
+
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+// Índice de status por posição na lista central: um BitSet por status, um para os que ainda faltam chegar
+// e um por obra. Os filtros rápidos ("PRONTO P/ CORTE da obra X") viram OR/AND de bitsets, sem percorrer os vidros.
+// Acrescentar só liga bits no fim; excluir uma lista só desliga os bits das posições dela (que ficam vazias).
+class IndiceStatus {
+
+    private final BitSet[] porStatus = new BitSet[StatusVidro.values().length];
+    private final BitSet faltantes = new BitSet();                  // Chegou na fábrica menos que o total
+    private final Map<String, BitSet> porObra = new HashMap<>();    // Chave: obra em maiúsculas
+    private int tamanho = 0;
+
+    IndiceStatus() {
+        for (int i = 0; i < porStatus.length; i++) {
+            porStatus[i] = new BitSet();
+        }
+    }
+
+    void limpar() {
+        for (BitSet b : porStatus) b.clear();
+        faltantes.clear();
+        porObra.clear();
+        tamanho = 0;
+    }
+
+    // Vidro na posição indicada da lista central
+    void adicionar(int posicao, Vidro v, String chaveObra) {
+        tamanho = Math.max(tamanho, posicao + 1);
+        porStatus[v.getStatus().ordinal()].set(posicao);
+        faltantes.set(posicao, faltaChegar(v));
+        porObra.computeIfAbsent(chaveObra, k -> new BitSet()).set(posicao);
+    }
+
+    // Posição esvaziada na lista central (vidro de uma lista excluída)
+    void remover(int posicao, String chaveObra) {
+        for (BitSet b : porStatus) b.clear(posicao);
+        faltantes.clear(posicao);
+        BitSet daObra = porObra.get(chaveObra);
+        if (daObra != null) {
+            daObra.clear(posicao);
+            if (daObra.isEmpty()) porObra.remove(chaveObra);
+        }
+    }
+
+    // Depois de uma movimentação (o status pode ter mudado)
+    void atualizar(int posicao, Vidro v) {
+        for (BitSet b : porStatus) b.clear(posicao);
+        porStatus[v.getStatus().ordinal()].set(posicao);
+        faltantes.set(posicao, faltaChegar(v));
+    }
+
+    // Posições na lista central: status em OR (vazio = qualquer), AND obra (null = todas), AND faltantes
+    BitSet consultar(Set<StatusVidro> status, String chaveObra, boolean somenteFaltantes) {
+        BitSet resultado = new BitSet(tamanho);
+        for (StatusVidro s : status.isEmpty() ? EnumSet.allOf(StatusVidro.class) : status) {
+            resultado.or(porStatus[s.ordinal()]);
+        }
+
+        if (chaveObra != null) {
+            BitSet daObra = porObra.get(chaveObra);
+            if (daObra == null) return new BitSet();
+            resultado.and(daObra);
+        }
+        if (somenteFaltantes) resultado.and(faltantes);
+        return resultado;
+    }
+
+    private static boolean faltaChegar(Vidro v) {
+        return v.getQtdChegouFabrica() < v.getQuantidadeTotal();
+    }
+}
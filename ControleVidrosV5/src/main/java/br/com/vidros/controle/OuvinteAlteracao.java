@@ -0,0 +1,12 @@
+package br.com.vidros.controle;
+
+import br.com.vidros.modelo.Vidro;
+
+// Aviso de movimentação em um vidro (entrada, corte, envio, reposição), chamado na thread que fez a alteração
+// e ainda sob o bloqueio do gerenciador: não deve demorar (a interface deve repassar para a thread do Swing).
+// Inclusão, troca e exclusão de listas não passam por aqui.
+@FunctionalInterface
+public interface OuvinteAlteracao {
+
+    void vidroAlterado(Vidro vidro);
+}
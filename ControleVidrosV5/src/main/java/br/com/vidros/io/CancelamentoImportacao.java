@@ -0,0 +1,22 @@
+package br.com.vidros.io;
+
+import java.util.concurrent.CancellationException;
+
+// Pedido de cancelamento de uma importação em andamento.
+// O leitor confere a cada linha e interrompe com CancellationException: nenhuma lista parcial é devolvida.
+public class CancelamentoImportacao {
+
+    private volatile boolean cancelado = false;
+
+    public void cancelar() {
+        cancelado = true;
+    }
+
+    public boolean isCancelado() {
+        return cancelado;
+    }
+
+    void verificar() {
+        if (cancelado) throw new CancellationException("Importação cancelada pelo usuário");
+    }
+}
@@ -0,0 +1,63 @@
+package br.com.vidros.io;
+
+// Leitura de medidas e quantidades digitadas como texto nas planilhas, sem regex:
+//   "1606" -> 1606, "1.606" -> 1606 (milhar), "1606 mm" -> 1606, "1606,5" -> 1606 (vírgula decimal),
+//   "1.606,5" -> 1606, "1606.5" -> 1606, "1606 x 1106" -> 1606 (só o primeiro número).
+// A parte decimal é descartada, como na célula numérica (int). Sem número ou com estouro: 0.
+class ConversorNumero {
+
+    static int inteiro(CharSequence texto) {
+        int n = texto.length();
+
+        // 1. Pula o que vem antes do primeiro dígito ("Qtd: 2", "L=1606")
+        int inicio = 0;
+        while (inicio < n && !digito(texto.charAt(inicio))) inicio++;
+        if (inicio == n) return 0;
+
+        // 2. Delimita o número: dígitos e separadores ('.' ou ',') seguidos de dígito
+        int fim = inicio;
+        int pontos = 0, virgulas = 0;
+        int ultimoSeparador = -1;
+        int digitosGrupo = 0;
+        boolean gruposDeTres = true;    // Todos os grupos depois de separador têm 3 dígitos (milhar)
+        while (fim < n) {
+            char c = texto.charAt(fim);
+            if (digito(c)) {
+                digitosGrupo++;
+            } else if ((c == '.' || c == ',') && fim + 1 < n && digito(texto.charAt(fim + 1))) {
+                if (ultimoSeparador != -1 && digitosGrupo != 3) gruposDeTres = false;
+                if (c == '.') pontos++; else virgulas++;
+                ultimoSeparador = fim;
+                digitosGrupo = 0;
+            } else {
+                break;
+            }
+            fim++;
+        }
+        if (ultimoSeparador != -1 && digitosGrupo != 3) gruposDeTres = false;
+
+        // 3. Decide qual separador (se algum) marca as casas decimais
+        int posicaoDecimal = fim;
+        if (pontos > 0 && virgulas > 0) {
+            posicaoDecimal = ultimoSeparador;                       // "1.606,5" ou "1,606.5"
+        } else if (virgulas == 1) {
+            posicaoDecimal = ultimoSeparador;                       // "1606,5": vírgula decimal
+        } else if ((pontos > 0 || virgulas > 1) && !gruposDeTres) {
+            posicaoDecimal = ultimoSeparador;                       // "1606.5"
+        }
+
+        // 4. Parte inteira, ignorando os separadores de milhar
+        long valor = 0;
+        for (int i = inicio; i < posicaoDecimal; i++) {
+            char c = texto.charAt(i);
+            if (!digito(c)) continue;
+            valor = valor * 10 + (c - '0');
+            if (valor > Integer.MAX_VALUE) return 0;
+        }
+        return (int) valor;
+    }
+
+    private static boolean digito(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
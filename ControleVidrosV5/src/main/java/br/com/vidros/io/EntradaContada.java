@@ -0,0 +1,46 @@
+package br.com.vidros.io;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+// InputStream que conta os bytes já lidos (progresso da leitura em streaming)
+class EntradaContada extends FilterInputStream {
+
+    private long lidos = 0;
+
+    EntradaContada(InputStream in) {
+        super(in);
+    }
+
+    long getLidos() {
+        return lidos;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b != -1) lidos++;
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = super.read(b, off, len);
+        if (n > 0) lidos += n;
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long pulados = super.skip(n);
+        lidos += pulados;
+        return pulados;
+    }
+
+    // Sem mark/reset: a contagem ficaria errada
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+}
@@ -1,78 +1,135 @@
 package br.com.vidros.io;
 
+import br.com.vidros.modelo.Vidro;
 import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 
-import javax.swing.*;
-import javax.swing.table.TableModel;
-import java.awt.Component;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.util.List;
+import java.util.function.IntConsumer;
 
 public class ExportadorExcel {
 
-    public static void exportarTabela(JTable tabela, Component parentComponent) {
-        JFileChooser fileChooser = new JFileChooser();
-        fileChooser.setDialogTitle("Salvar Tabela como Excel");
-        fileChooser.setSelectedFile(new File("Relatorio_Vidros.xlsx"));
+    // Mesmas colunas da tabela da tela
+    private static final String[] COLUNAS = {
+            "ID", "Obra", "Lista", "Posição", "Tipologia", "Especificação",
+            "L (mm)", "H (mm)", "Total", "Chegou", "Cortado", "Status"
+    };
 
-        if (fileChooser.showSaveDialog(parentComponent) == JFileChooser.APPROVE_OPTION) {
-            File arquivo = fileChooser.getSelectedFile();
-            if (!arquivo.getName().toLowerCase().endsWith(".xlsx")) {
-                arquivo = new File(arquivo.getParentFile(), arquivo.getName() + ".xlsx");
+    // Linhas mantidas em memória pelo SXSSF; as anteriores já foram gravadas no arquivo temporário
+    private static final int JANELA_LINHAS = 200;
+
+    // Linhas usadas para estimar a largura das colunas (no lugar do autoSizeColumn)
+    private static final int AMOSTRA_LARGURA = 1000;
+    private static final int LARGURA_MAXIMA = 80;   // Em caracteres
+
+    // Exportação em streaming direto da lista de vidros (não passa pela JTable).
+    // Memória constante: só a janela de linhas fica no heap. O progresso (0 a 100) é avisado a cada 1%.
+    public static void exportarVidros(List<Vidro> vidros, File arquivo, IntConsumer progresso) throws IOException {
+        SXSSFWorkbook workbook = novoWorkbook();
+        try {
+            SXSSFSheet sheet = workbook.createSheet("Relatório");
+            escreverVidros(sheet, vidros, criarEstiloCabecalho(workbook), progresso);
+
+            // Salva o arquivo físico
+            try (FileOutputStream fileOut = new FileOutputStream(arquivo)) {
+                workbook.write(fileOut);
             }
+            if (progresso != null) progresso.accept(100);
+        } finally {
+            workbook.dispose();     // Apaga os arquivos temporários do SXSSF
+            workbook.close();
+        }
+    }
+
+    // Funções Auxiliares (usadas também pelo ExportadorObras)
+
+    static SXSSFWorkbook novoWorkbook() {
+        return new SXSSFWorkbook(JANELA_LINHAS);
+    }
+
+    // Negrito para o cabeçalho: criado uma vez por workbook e usado em todas as células
+    static CellStyle criarEstiloCabecalho(Workbook workbook) {
+        CellStyle estilo = workbook.createCellStyle();
+        Font fonte = workbook.createFont();
+        fonte.setBold(true);
+        estilo.setFont(fonte);
+        return estilo;
+    }
+
+    // Cabeçalho, largura das colunas e uma linha por vidro
+    static void escreverVidros(Sheet sheet, List<Vidro> vidros, CellStyle estiloCabecalho, IntConsumer progresso) {
+        // 1. Cabeçalho
+        Row cabecalho = sheet.createRow(0);
+        for (int col = 0; col < COLUNAS.length; col++) {
+            Cell cell = cabecalho.createCell(col);
+            cell.setCellValue(COLUNAS[col]);
+            cell.setCellStyle(estiloCabecalho);
+        }
+        sheet.createFreezePane(0, 1);
+
+        // 2. Largura pela amostra (precisa ser definida antes das linhas saírem da janela)
+        int[] larguras = estimarLarguras(vidros);
+        for (int col = 0; col < COLUNAS.length; col++) {
+            sheet.setColumnWidth(col, (larguras[col] + 2) * 256);
+        }
 
-            try (Workbook workbook = new XSSFWorkbook()) {
-                Sheet sheet = workbook.createSheet("Relatório");
-                TableModel model = tabela.getModel();
-
-                // 1. Cria o cabeçalho
-                Row headerRow = sheet.createRow(0);
-                for (int col = 0; col < model.getColumnCount(); col++) {
-                    Cell cell = headerRow.createCell(col);
-                    cell.setCellValue(model.getColumnName(col));
-
-                    // Estilo simples para negrito
-                    CellStyle style = workbook.createCellStyle();
-                    Font font = workbook.createFont();
-                    font.setBold(true);
-                    style.setFont(font);
-                    cell.setCellStyle(style);
-                }
-
-                // 2. Preenche os dados
-                for (int row = 0; row < tabela.getRowCount(); row++) {
-                    Row excelRow = sheet.createRow(row + 1);
-                    for (int col = 0; col < model.getColumnCount(); col++) {
-                        Cell cell = excelRow.createCell(col);
-                        Object valor = tabela.getValueAt(row, col);
-
-                        if (valor != null) {
-                            if (valor instanceof Number) {
-                                cell.setCellValue(((Number) valor).doubleValue());
-                            } else {
-                                cell.setCellValue(valor.toString());
-                            }
-                        }
-                    }
-                }
-
-                // Ajusta largura das colunas
-                for (int col = 0; col < model.getColumnCount(); col++) {
-                    sheet.autoSizeColumn(col);
-                }
-
-                // Salva o arquivo físico
-                try (FileOutputStream fileOut = new FileOutputStream(arquivo)) {
-                    workbook.write(fileOut);
-                }
-
-                JOptionPane.showMessageDialog(parentComponent, "Exportação Concluída com sucesso!");
-            } catch (IOException ex) {
-                JOptionPane.showMessageDialog(parentComponent, "Erro ao salvar arquivo: " + ex.getMessage());
-                ex.printStackTrace();
+        // 3. Dados
+        int total = vidros.size();
+        int passo = Math.max(1, total / 100);
+        for (int i = 0; i < total; i++) {
+            Vidro v = vidros.get(i);
+            Row row = sheet.createRow(i + 1);
+            row.createCell(0).setCellValue(v.getIdItemUnico());
+            row.createCell(1).setCellValue(v.getNomeObra());
+            row.createCell(2).setCellValue(v.getListaOrigem());
+            row.createCell(3).setCellValue(v.getPosicao());
+            row.createCell(4).setCellValue(v.getTipologia());
+            row.createCell(5).setCellValue(v.getEspecificacao());
+            row.createCell(6).setCellValue(v.getLarguraMM());
+            row.createCell(7).setCellValue(v.getAlturaMM());
+            row.createCell(8).setCellValue(v.getQuantidadeTotal());
+            row.createCell(9).setCellValue(v.getQtdChegouFabrica());
+            row.createCell(10).setCellValue(v.getQtdCortada());
+            row.createCell(11).setCellValue(v.getStatusGeral());
+
+            if (progresso != null && (i + 1) % passo == 0) {
+                progresso.accept((int) ((i + 1) * 100L / Math.max(1, total)));
             }
         }
     }
+
+    // Maior texto de cada coluna em até AMOSTRA_LARGURA linhas espalhadas pela lista
+    private static int[] estimarLarguras(List<Vidro> vidros) {
+        int[] larguras = new int[COLUNAS.length];
+        for (int col = 0; col < COLUNAS.length; col++) {
+            larguras[col] = COLUNAS[col].length();
+        }
+
+        int passo = Math.max(1, vidros.size() / AMOSTRA_LARGURA);
+        for (int i = 0; i < vidros.size(); i += passo) {
+            Vidro v = vidros.get(i);
+            medir(larguras, 0, v.getIdItemUnico());
+            medir(larguras, 1, v.getNomeObra());
+            medir(larguras, 2, v.getListaOrigem());
+            medir(larguras, 3, v.getPosicao());
+            medir(larguras, 4, v.getTipologia());
+            medir(larguras, 5, v.getEspecificacao());
+            medir(larguras, 6, String.valueOf(v.getLarguraMM()));
+            medir(larguras, 7, String.valueOf(v.getAlturaMM()));
+            medir(larguras, 8, String.valueOf(v.getQuantidadeTotal()));
+            medir(larguras, 9, String.valueOf(v.getQtdChegouFabrica()));
+            medir(larguras, 10, String.valueOf(v.getQtdCortada()));
+            medir(larguras, 11, v.getStatusGeral());
+        }
+        return larguras;
+    }
+
+    private static void medir(int[] larguras, int coluna, String texto) {
+        if (texto == null) return;
+        larguras[coluna] = Math.min(LARGURA_MAXIMA, Math.max(larguras[coluna], texto.length()));
+    }
 }
@@ -0,0 +1,319 @@
+package br.com.vidros.io;
+
+import br.com.vidros.modelo.StatusVidro;
+import br.com.vidros.modelo.Vidro;
+import org.apache.poi.ss.usermodel.BorderStyle;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.WorkbookUtil;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Exportação de uma planilha por obra (para enviar a clientes e fornecedores):
+// aba "Resumo" com os totais de cada lista e uma aba por lista com os itens.
+// As obras são gravadas em paralelo, no máximo uma por processador, e a pasta de destino
+// recebe um manifesto com o que foi gerado ("manifesto.txt").
+public class ExportadorObras {
+
+    private static final int MAXIMO_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors());
+
+    private static final String ARQUIVO_MANIFESTO = "manifesto.txt";
+
+    private static final String[] COLUNAS_RESUMO = {
+            "Lista", "Itens", "Peças", "Chegou", "Cortado", "Reposição", "Enviado", "Entregues"
+    };
+
+    // Resultado da gravação de uma obra
+    public static class ResultadoObra {
+        private final String obra;
+        private final File arquivo;
+        private final int listas;
+        private final int itens;
+        private final long tempoMs;
+        private final String erro;
+
+        ResultadoObra(String obra, File arquivo, int listas, int itens, long tempoMs, String erro) {
+            this.obra = obra;
+            this.arquivo = arquivo;
+            this.listas = listas;
+            this.itens = itens;
+            this.tempoMs = tempoMs;
+            this.erro = erro;
+        }
+
+        public String getObra() { return obra; }
+
+        public File getArquivo() { return arquivo; }
+
+        public int getListas() { return listas; }
+
+        public int getItens() { return itens; }
+
+        public long getTempoMs() { return tempoMs; }
+
+        public String getErro() { return erro; }
+    }
+
+    // Resultado da exportação inteira (na ordem das obras)
+    public static class ResultadoExportacao {
+        private final File pasta;
+        private final List<ResultadoObra> obras;
+        private final long tempoTotalMs;
+
+        ResultadoExportacao(File pasta, List<ResultadoObra> obras, long tempoTotalMs) {
+            this.pasta = pasta;
+            this.obras = obras;
+            this.tempoTotalMs = tempoTotalMs;
+        }
+
+        public File getPasta() { return pasta; }
+
+        public List<ResultadoObra> getObras() { return obras; }
+
+        public long getTempoTotalMs() { return tempoTotalMs; }
+
+        // Uma linha por obra, com o tempo de gravação
+        public String resumo() {
+            StringBuilder sb = new StringBuilder();
+            int gravadas = 0;
+            for (ResultadoObra r : obras) {
+                sb.append(r.getObra()).append(" -> ");
+                if (r.getErro() != null) {
+                    sb.append("ERRO (").append(r.getErro()).append(")");
+                } else {
+                    gravadas++;
+                    sb.append(r.getArquivo().getName()).append(": ").append(r.getListas()).append(" listas, ")
+                            .append(r.getItens()).append(" itens");
+                }
+                sb.append(" [").append(r.getTempoMs()).append(" ms]\n");
+            }
+            sb.append("Total: ").append(gravadas).append(" de ").append(obras.size()).append(" obras em ")
+                    .append(tempoTotalMs).append(" ms (").append(pasta.getAbsolutePath()).append(")");
+            return sb.toString();
+        }
+    }
+
+    // Estilos de um workbook, criados uma única vez e usados em todas as abas
+    private static class Estilos {
+        final CellStyle cabecalho;
+        final CellStyle total;
+
+        Estilos(SXSSFWorkbook workbook) {
+            cabecalho = ExportadorExcel.criarEstiloCabecalho(workbook);
+
+            Font negrito = workbook.createFont();
+            negrito.setBold(true);
+            total = workbook.createCellStyle();
+            total.setFont(negrito);
+            total.setBorderTop(BorderStyle.THIN);
+        }
+    }
+
+    // obras: Obra -> Lista -> itens (ver GerenciadorVidros.copiarListasPorObra)
+    public static ResultadoExportacao exportar(Map<String, Map<String, List<Vidro>>> obras, File pasta) throws IOException {
+        long inicio = System.nanoTime();
+        Files.createDirectories(pasta.toPath());
+
+        List<ResultadoObra> resultados = new ArrayList<>();
+        if (!obras.isEmpty()) {
+            // Nomes dos arquivos escolhidos antes, para duas obras não caírem no mesmo arquivo
+            Set<String> nomesUsados = new HashSet<>();
+            List<String> nomesObras = new ArrayList<>(obras.keySet());
+            List<File> arquivos = new ArrayList<>();
+            for (String obra : nomesObras) {
+                arquivos.add(new File(pasta, nomeUnico("Obra - " + nomeArquivo(obra), ".xlsx", nomesUsados)));
+            }
+
+            ExecutorService executor = Executors.newFixedThreadPool(
+                    Math.min(MAXIMO_THREADS, obras.size()), new FabricaThreads());
+            try {
+                List<Future<ResultadoObra>> tarefas = new ArrayList<>();
+                for (int i = 0; i < nomesObras.size(); i++) {
+                    String obra = nomesObras.get(i);
+                    File arquivo = arquivos.get(i);
+                    tarefas.add(executor.submit(() -> exportarObra(obra, obras.get(obra), arquivo)));
+                }
+                for (int i = 0; i < tarefas.size(); i++) {
+                    resultados.add(aguardar(tarefas.get(i), nomesObras.get(i), arquivos.get(i)));
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        long tempoTotalMs = (System.nanoTime() - inicio) / 1_000_000;
+        ResultadoExportacao exportacao = new ResultadoExportacao(pasta, resultados, tempoTotalMs);
+        gravarManifesto(exportacao);
+        System.out.println("Exportação por obra em " + pasta.getName() + ":\n" + exportacao.resumo());
+        return exportacao;
+    }
+
+    // Funções Auxiliares
+
+    private static ResultadoObra exportarObra(String obra, Map<String, List<Vidro>> listas, File arquivo) throws IOException {
+        long inicio = System.nanoTime();
+        int itens = 0;
+
+        SXSSFWorkbook workbook = ExportadorExcel.novoWorkbook();
+        try {
+            Estilos estilos = new Estilos(workbook);
+
+            // Resumo primeiro: é a aba que abre com o arquivo
+            Sheet resumo = workbook.createSheet("Resumo");
+            Set<String> nomesAbas = new HashSet<>();
+            nomesAbas.add("RESUMO");
+
+            Row cabecalho = resumo.createRow(0);
+            for (int col = 0; col < COLUNAS_RESUMO.length; col++) {
+                Cell cell = cabecalho.createCell(col);
+                cell.setCellValue(COLUNAS_RESUMO[col]);
+                cell.setCellStyle(estilos.cabecalho);
+                resumo.setColumnWidth(col, (Math.max(12, COLUNAS_RESUMO[col].length()) + 2) * 256);
+            }
+            resumo.createFreezePane(0, 1);
+
+            int[] totais = new int[COLUNAS_RESUMO.length];
+            int linha = 1;
+            for (Map.Entry<String, List<Vidro>> entrada : listas.entrySet()) {
+                List<Vidro> vidros = entrada.getValue();
+                itens += vidros.size();
+
+                int[] somas = somar(vidros);
+                Row row = resumo.createRow(linha++);
+                row.createCell(0).setCellValue(entrada.getKey());
+                for (int col = 1; col < somas.length; col++) {
+                    row.createCell(col).setCellValue(somas[col]);
+                    totais[col] += somas[col];
+                }
+
+                String nomeAba = nomeUnicoAba("Lista " + entrada.getKey(), nomesAbas);
+                ExportadorExcel.escreverVidros(workbook.createSheet(nomeAba), vidros, estilos.cabecalho, null);
+            }
+
+            Row rowTotal = resumo.createRow(linha);
+            Cell celulaTotal = rowTotal.createCell(0);
+            celulaTotal.setCellValue("Total");
+            celulaTotal.setCellStyle(estilos.total);
+            for (int col = 1; col < totais.length; col++) {
+                Cell cell = rowTotal.createCell(col);
+                cell.setCellValue(totais[col]);
+                cell.setCellStyle(estilos.total);
+            }
+
+            try (FileOutputStream fileOut = new FileOutputStream(arquivo)) {
+                workbook.write(fileOut);
+            }
+        } finally {
+            workbook.dispose();     // Apaga os arquivos temporários do SXSSF
+            workbook.close();
+        }
+
+        long tempoMs = (System.nanoTime() - inicio) / 1_000_000;
+        return new ResultadoObra(obra, arquivo, listas.size(), itens, tempoMs, null);
+    }
+
+    // Colunas numéricas do resumo (a posição 0 é o nome da lista)
+    private static int[] somar(List<Vidro> vidros) {
+        int[] somas = new int[COLUNAS_RESUMO.length];
+        somas[1] = vidros.size();
+        for (Vidro v : vidros) {
+            somas[2] += v.getQuantidadeTotal();
+            somas[3] += v.getQtdChegouFabrica();
+            somas[4] += v.getQtdCortada();
+            somas[5] += v.getQtdReposicao();
+            somas[6] += v.getQtdEnviada();
+            if (v.getStatus() == StatusVidro.ENTREGUE_NA_OBRA) somas[7]++;
+        }
+        return somas;
+    }
+
+    private static ResultadoObra aguardar(Future<ResultadoObra> tarefa, String obra, File arquivo) {
+        try {
+            return tarefa.get();
+        } catch (ExecutionException e) {
+            e.getCause().printStackTrace();
+            arquivo.delete();   // Não deixa planilha pela metade na pasta
+            return new ResultadoObra(obra, arquivo, 0, 0, 0, String.valueOf(e.getCause().getMessage()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new ResultadoObra(obra, arquivo, 0, 0, 0, "exportação interrompida");
+        }
+    }
+
+    // Uma linha por obra: "arquivo;obra;listas;itens;bytes;tempo_ms;erro"
+    private static void gravarManifesto(ResultadoExportacao exportacao) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        sb.append("# Exportação por obra - ").append(LocalDateTime.now()).append("\n");
+        sb.append("arquivo;obra;listas;itens;bytes;tempo_ms;erro\n");
+        for (ResultadoObra r : exportacao.getObras()) {
+            sb.append(r.getArquivo().getName()).append(';')
+                    .append(r.getObra()).append(';')
+                    .append(r.getListas()).append(';')
+                    .append(r.getItens()).append(';')
+                    .append(r.getErro() == null ? r.getArquivo().length() : 0).append(';')
+                    .append(r.getTempoMs()).append(';')
+                    .append(r.getErro() == null ? "" : r.getErro().replace(';', ',').replace('\n', ' '))
+                    .append("\n");
+        }
+        Files.writeString(new File(exportacao.getPasta(), ARQUIVO_MANIFESTO).toPath(), sb.toString(), StandardCharsets.UTF_8);
+    }
+
+    // Sem os caracteres proibidos em nomes de arquivo no Windows
+    private static String nomeArquivo(String texto) {
+        String nome = texto.replaceAll("[\\\\/:*?\"<>|\\p{Cntrl}]", "_").trim();
+        return nome.isEmpty() ? "_" : nome;
+    }
+
+    // Obras que só diferem em caracteres proibidos ganham um sufixo " (2)", " (3)"...
+    private static String nomeUnico(String base, String extensao, Set<String> usados) {
+        String nome = base + extensao;
+        for (int n = 2; !usados.add(nome.toLowerCase(Locale.ROOT)); n++) {
+            nome = base + " (" + n + ")" + extensao;
+        }
+        return nome;
+    }
+
+    // Aba com no máximo 31 caracteres, sem repetir (o Excel não diferencia maiúsculas)
+    private static String nomeUnicoAba(String base, Set<String> usados) {
+        String seguro = WorkbookUtil.createSafeSheetName(base);
+        String nome = seguro;
+        for (int n = 2; !usados.add(nome.toUpperCase(Locale.ROOT)); n++) {
+            String sufixo = " (" + n + ")";
+            nome = seguro.substring(0, Math.min(seguro.length(), 31 - sufixo.length())) + sufixo;
+        }
+        return nome;
+    }
+
+    // Threads nomeadas e em segundo plano (não impedem o fechamento do programa)
+    private static class FabricaThreads implements ThreadFactory {
+        private final AtomicInteger contador = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread t = new Thread(r, "exportacao-obras-" + contador.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }
+    }
+}
@@ -1,163 +1,179 @@
 package br.com.vidros.io;
 
 import br.com.vidros.modelo.Vidro;
+import org.apache.poi.poifs.filesystem.FileMagic;
 import org.apache.poi.ss.usermodel.*;
 
+import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
-import java.text.Normalizer;
-import java.util.ArrayList;
+import java.io.InputStream;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CancellationException;
 
 public class ImportadorExcel {
 
-    // Código descobre os índices lendo o cabeçalho
+    // Código descobre os índices lendo o cabeçalho (ver MontadorVidros)
+    // Arquivos .xlsx (SAX) e .xls (eventos HSSF) são lidos em streaming; os demais pelo modelo completo (DOM)
+    // Exportações CSV/TSV do ERP vão para o leitor de texto mapeado em memória
 
     public static List<Vidro> importar(File arquivo, String nomeObra, String listaOrigem) {
+        return importar(arquivo, nomeObra, listaOrigem, null, null);
+    }
+
+    // Com acompanhamento do progresso e possibilidade de cancelar (ouvinte e cancelamento podem ser null).
+    // Se for cancelada, lança CancellationException e nenhuma lista é devolvida.
+    public static List<Vidro> importar(File arquivo, String nomeObra, String listaOrigem,
+                                       OuvinteProgresso ouvinte, CancelamentoImportacao cancelamento) {
+        return importarComRelatorio(arquivo, nomeObra, listaOrigem, ouvinte, cancelamento).getVidros();
+    }
 
-        List<Vidro> listaVidros = new ArrayList<>();
+    // Mesma importação, devolvendo o relatório (linhas lidas/aceitas/descartadas, cabeçalho, tempos) com os vidros
+    public static RelatorioImportacao importarComRelatorio(File arquivo, String nomeObra, String listaOrigem,
+                                                           OuvinteProgresso ouvinte, CancelamentoImportacao cancelamento) {
+        MontadorVidros montador = new MontadorVidros(arquivo.getName(), nomeObra, listaOrigem, ouvinte, cancelamento);
+        try {
+            FileMagic formato = detectarFormato(arquivo);
+            if (formato == FileMagic.OOXML) {
+                importarXlsx(arquivo, montador);
+            } else if (formato == FileMagic.OLE2) {
+                importarXls(arquivo, montador);
+            } else if (ehTexto(arquivo)) {
+                importarCsv(arquivo, montador);
+            } else {
+                importarDom(arquivo, montador);
+            }
+        } catch (IOException e) {
+            System.err.println("ERRO de I/O: " + e.getMessage());
+            montador.getRelatorio().setErro(e.getMessage());
+            montador.concluir();
+        }
+        return montador.getRelatorio();
+    }
+
+    // Leitura em streaming: a planilha não é carregada inteira na memória
+    static List<Vidro> importarXlsx(File arquivo, MontadorVidros montador) {
+        montador.getRelatorio().setLeitor("xlsx, leitura em streaming");
+        try {
+            LeitorXlsx.ler(arquivo, montador);
+        } catch (CancellationException e) {
+            throw e;
+        } catch (IOException e) {
+            System.err.println("ERRO de I/O: " + e.getMessage());
+            montador.getRelatorio().setErro(e.getMessage());
+        } catch (Exception e) {
+            e.printStackTrace();
+            montador.getRelatorio().setErro(e.toString());
+        }
+        return montador.concluir();
+    }
 
-        // Variáveis para guardar os índices das colunas descobertos
-        int idxPosicao = -1;
-        int idxTipo = -1;
-        int idxEspecificacao = -1;
-        int idxLargura = -1;
-        int idxAltura = -1;
-        int idxQuantidade = -1;
+    // Leitura pelos eventos do HSSF: memória constante, sem montar o HSSFWorkbook
+    static List<Vidro> importarXls(File arquivo, MontadorVidros montador) {
+        montador.getRelatorio().setLeitor("xls, leitura por eventos");
+        try {
+            LeitorXls.ler(arquivo, montador);
+        } catch (CancellationException e) {
+            throw e;
+        } catch (IOException e) {
+            System.err.println("ERRO de I/O: " + e.getMessage());
+            montador.getRelatorio().setErro(e.getMessage());
+        } catch (Exception e) {
+            e.printStackTrace();
+            montador.getRelatorio().setErro(e.toString());
+        }
+        return montador.concluir();
+    }
 
-        boolean cabecalhoEncontrado = false;
+    // CSV/TSV: separador e codificação detectados automaticamente
+    static List<Vidro> importarCsv(File arquivo, MontadorVidros montador) {
+        montador.getRelatorio().setLeitor("texto CSV/TSV");
+        try {
+            LeitorCsv.ler(arquivo, montador);
+        } catch (CancellationException e) {
+            throw e;
+        } catch (IOException e) {
+            System.err.println("ERRO de I/O: " + e.getMessage());
+            montador.getRelatorio().setErro(e.getMessage());
+        } catch (Exception e) {
+            e.printStackTrace();
+            montador.getRelatorio().setErro(e.toString());
+        }
+        return montador.concluir();
+    }
 
+    // Leitura pelo modelo completo do POI (WorkbookFactory)
+    static List<Vidro> importarDom(File arquivo, MontadorVidros montador) {
+        montador.getRelatorio().setLeitor("modelo completo do POI");
         try (FileInputStream fileIn = new FileInputStream(arquivo);
         Workbook workbook = WorkbookFactory.create(fileIn)) {
 
             Sheet sheet = workbook.getSheetAt(0);
             Iterator<Row> rowIterator = sheet.iterator();
-
-            int numeroLinha = 0;
+            LinhaPlanilha linha = new LinhaPlanilha();
+            montador.acompanharLeitura(sheet.getPhysicalNumberOfRows(), montador::getLinhasLidas);
 
             while (rowIterator.hasNext()) {
                 Row row = rowIterator.next();
-                numeroLinha++;
-
-                // 1. Tenta encontrar a linha de Cabeçalho
-                if (!cabecalhoEncontrado) {
-                    for (Cell cell : row) {
-                        String textoCelula = lerCelulaString(cell).toUpperCase();
-
-                        // Normaliza para remover acentos
-                        textoCelula = removerAcentos(textoCelula);
-
-                        // Mapeia as colunas baseadas em palavras-chave
-                        if (textoCelula.contains("POSICAO") || textoCelula.contains("CODIGO") || textoCelula.contains("COD")) idxPosicao = cell.getColumnIndex();
-                        else if (textoCelula.contains("TIPO") || textoCelula.contains("TIPOLOGIA")) idxTipo = cell.getColumnIndex();
-                        else if (textoCelula.contains("ESPECIFICACAO") || textoCelula.contains("DESCRICAO")) idxEspecificacao = cell.getColumnIndex();
-                        else if (textoCelula.contains("LARGURA")) idxLargura = cell.getColumnIndex();
-                        else if (textoCelula.contains("ALTURA")) idxAltura = cell.getColumnIndex();
-                        else if (textoCelula.contains("QUANT") || textoCelula.contains("QTD")) idxQuantidade = cell.getColumnIndex();
-                    }
-
-                    // Se encontrar as colunas essenciais, marca como achado
-                    if (idxLargura != -1 && idxAltura != -1 && idxQuantidade != -1) {
-                        cabecalhoEncontrado = true;
-                        System.out.println("Cabeçalho encontrado na linha " + numeroLinha);
-                        System.out.println("Mapeamento: Largura=" + idxLargura + ", Altura=" + idxAltura +
-                                ", Quantidade=" + idxQuantidade);
-                    }
-                    continue;
-                }
 
-                // 2. Processa as linhas de Dados
-                try {
-                    // Verifica se a linha tem dados suficientes
-                    if (idxQuantidade == -1 || idxLargura == -1) continue;
-
-                    String posicao = (idxPosicao != -1) ? lerCelulaString(row.getCell(idxPosicao)) : "N/A";
-                    String tipologia = (idxTipo != -1) ? lerCelulaString(row.getCell(idxTipo)) : "";
-                    String especificacao = (idxEspecificacao != -1) ? lerCelulaString(row.getCell(idxEspecificacao)) : "";
-
-                    int larguraMM = lerCelulaInteira(row.getCell(idxLargura));
-                    int alturaMM = lerCelulaInteira(row.getCell(idxAltura));
-                    int quantidade = lerCelulaInteira(row.getCell(idxQuantidade));
-
-                    // Ignora linha se quantidade for zero ou posição vazia
-                    if (quantidade <= 0 && larguraMM <= 0) continue;
-
-                    // Se não tiver posição, usa um placeholder
-                    if (posicao.isEmpty()) posicao = "S/N";
-
-                    Vidro vidro = new Vidro(
-                            nomeObra,
-                            listaOrigem,
-                            posicao,
-                            tipologia,
-                            especificacao,
-                            larguraMM,
-                            alturaMM,
-                            quantidade
-                    );
-
-                    listaVidros.add(vidro);
-                } catch (Exception e) {
-                    // Log discreto para não poluir
-                    // System.err.println("Linha " + numeroLinha + " ignorada: " + e.getMessage());
+                linha.limpar();
+                linha.setNumero(row.getRowNum() + 1);
+                for (Cell cell : row) {
+                    adicionarCelula(linha, cell);
                 }
+                montador.processarLinha(linha);
             }
-
-            if (listaVidros.isEmpty()) {
-                System.err.println("AVISO: Nenhuma linha válida importada. Verifique se os nomes das colunas" +
-                        "(Largura, Altura, Quant.) estão corretos no Excel.");
-            } else {
-                System.out.println("Importação finalizada. Total: " + listaVidros.size() + " itens.");
-            }
+        } catch (CancellationException e) {
+            throw e;
         } catch (IOException e) {
             System.err.println("ERRO de I/O: " + e.getMessage());
+            montador.getRelatorio().setErro(e.getMessage());
         } catch (Exception e) {
             e.printStackTrace();
+            montador.getRelatorio().setErro(e.toString());
         }
 
-        return listaVidros;
+        return montador.concluir();
     }
 
     // Função Auxiliares
 
-    private static String removerAcentos(String str) {
-        return Normalizer.normalize(str, Normalizer.Form.NFD).replaceAll("[^\\p{ASCII}]", "");
+    private static FileMagic detectarFormato(File arquivo) throws IOException {
+        try (InputStream in = new BufferedInputStream(new FileInputStream(arquivo))) {
+            return FileMagic.valueOf(in);
+        }
     }
 
-    // Funções de Leitura Robusta de Células
+    static boolean ehTexto(File arquivo) {
+        String nome = arquivo.getName().toLowerCase(Locale.ROOT);
+        return nome.endsWith(".csv") || nome.endsWith(".tsv") || nome.endsWith(".txt");
+    }
 
-    private static String lerCelulaString(Cell cell) {
-        if (cell == null) return "";
+    // Funções de Leitura Robusta de Células
 
+    private static void adicionarCelula(LinhaPlanilha linha, Cell cell) {
         // Força leitura como texto para evitar erro
         try {
-            if (cell.getCellType() == CellType.NUMERIC) {
-                return String.valueOf((int)cell.getNumericCellValue());
-            }
-            return cell.getStringCellValue().trim();
-        } catch (Exception e) {
-            return "";
-        }
-    }
-
-    private static int lerCelulaInteira(Cell cell) {
-        if (cell == null) return 0;
-        try {
-            if (cell.getCellType() == CellType.NUMERIC) {
-                return (int) cell.getNumericCellValue();
-            } else if (cell.getCellType() == CellType.STRING) {
-                String val = cell.getStringCellValue().trim();
-                if (val.isEmpty()) return 0;
-
-                // Remove caracteres não númericos
-                val = val.replaceAll("[^0-9]", "");
-                return Integer.parseInt(val);
+            switch (cell.getCellType()) {
+                case NUMERIC -> linha.adicionar(cell.getColumnIndex(), LinhaPlanilha.TipoCelula.NUMERICO,
+                        cell.getNumericCellValue(), null);
+                case STRING -> linha.adicionar(cell.getColumnIndex(), LinhaPlanilha.TipoCelula.TEXTO,
+                        0, cell.getStringCellValue());
+                case FORMULA -> {
+                    if (cell.getCachedFormulaResultType() == CellType.STRING) {
+                        linha.adicionar(cell.getColumnIndex(), LinhaPlanilha.TipoCelula.FORMULA_TEXTO,
+                                0, cell.getStringCellValue());
+                    } else {
+                        linha.adicionar(cell.getColumnIndex(), LinhaPlanilha.TipoCelula.OUTRO, 0, null);
+                    }
+                }
+                default -> linha.adicionar(cell.getColumnIndex(), LinhaPlanilha.TipoCelula.OUTRO, 0, null);
             }
         } catch (Exception e) {
-            return 0;
+            linha.adicionar(cell.getColumnIndex(), LinhaPlanilha.TipoCelula.OUTRO, 0, null);
         }
-        return 0;
     }
 }
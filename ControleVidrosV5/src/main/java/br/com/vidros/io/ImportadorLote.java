@@ -0,0 +1,210 @@
+package br.com.vidros.io;
+
+import br.com.vidros.modelo.Vidro;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Importação de uma pasta inteira de listas (início de obra: 20 a 60 arquivos de uma vez).
+// Os arquivos são lidos em paralelo, com no máximo um por processador, e a Obra/Lista
+// vêm do nome do arquivo: "NN. Lista de Vidros-ObraX-...-RNN" -> Obra "OBRAX", Lista "NN".
+public class ImportadorLote {
+
+    // Ex.: "45. Lista de Vidros-Obra1-GC1-15-12-2025-R00.xlsx", "03. Lista de Vidros -Obra2 -09-12-2025.xls"
+    private static final Pattern PADRAO_NOME = Pattern.compile(
+            "^\\s*(\\d+)\\s*\\.\\s*Lista\\s+de\\s+Vidros\\s*-\\s*([^-]+?)\\s*(-.*)?\\.[^.]+$",
+            Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+
+    private static final int MAXIMO_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors());
+
+    // Resultado da leitura de um arquivo
+    public static class ResultadoArquivo {
+        private final File arquivo;
+        private final String obra;
+        private final String lista;
+        private final List<Vidro> vidros;
+        private final long tempoMs;
+        private final String erro;
+        private final RelatorioImportacao relatorio;    // null se o arquivo nem chegou a ser lido
+
+        ResultadoArquivo(File arquivo, String obra, String lista, List<Vidro> vidros, long tempoMs, String erro,
+                         RelatorioImportacao relatorio) {
+            this.arquivo = arquivo;
+            this.obra = obra;
+            this.lista = lista;
+            this.vidros = vidros;
+            this.tempoMs = tempoMs;
+            this.erro = erro;
+            this.relatorio = relatorio;
+        }
+
+        public File getArquivo() { return arquivo; }
+
+        public String getObra() { return obra; }
+
+        public String getLista() { return lista; }
+
+        public List<Vidro> getVidros() { return vidros; }
+
+        public long getTempoMs() { return tempoMs; }
+
+        public String getErro() { return erro; }
+
+        public RelatorioImportacao getRelatorio() { return relatorio; }
+
+        public boolean isImportado() { return erro == null && !vidros.isEmpty(); }
+    }
+
+    // Resultado da pasta inteira (na ordem dos nomes dos arquivos)
+    public static class ResultadoLote {
+        private final List<ResultadoArquivo> arquivos;
+        private final long tempoTotalMs;
+
+        ResultadoLote(List<ResultadoArquivo> arquivos, long tempoTotalMs) {
+            this.arquivos = arquivos;
+            this.tempoTotalMs = tempoTotalMs;
+        }
+
+        public List<ResultadoArquivo> getArquivos() { return arquivos; }
+
+        public long getTempoTotalMs() { return tempoTotalMs; }
+
+        // Listas importadas com sucesso, prontas para entrar no gerenciador de uma só vez
+        public List<List<Vidro>> getListasImportadas() {
+            List<List<Vidro>> listas = new ArrayList<>();
+            for (ResultadoArquivo r : arquivos) {
+                if (r.isImportado()) listas.add(r.getVidros());
+            }
+            return listas;
+        }
+
+        public int getTotalItens() {
+            int total = 0;
+            for (ResultadoArquivo r : arquivos) {
+                if (r.isImportado()) total += r.getVidros().size();
+            }
+            return total;
+        }
+
+        // Uma linha por arquivo, com o tempo de leitura
+        public String resumo() {
+            StringBuilder sb = new StringBuilder();
+            for (ResultadoArquivo r : arquivos) {
+                sb.append(r.getArquivo().getName()).append(" -> ");
+                if (r.getErro() != null) {
+                    sb.append("IGNORADO (").append(r.getErro()).append(")");
+                } else {
+                    sb.append(r.getObra()).append(" / Lista ").append(r.getLista())
+                            .append(": ").append(r.getVidros().size()).append(" itens");
+                    if (r.getRelatorio() != null && r.getRelatorio().getLinhasDescartadas() > 0) {
+                        sb.append(", ").append(r.getRelatorio().getLinhasDescartadas()).append(" linhas descartadas");
+                    }
+                }
+                sb.append(" [").append(r.getTempoMs()).append(" ms]\n");
+            }
+            sb.append("Total: ").append(getTotalItens()).append(" itens de ")
+                    .append(getListasImportadas().size()).append(" de ").append(arquivos.size())
+                    .append(" arquivos em ").append(tempoTotalMs).append(" ms");
+            return sb.toString();
+        }
+    }
+
+    public static ResultadoLote importarPasta(File pasta) {
+        long inicio = System.nanoTime();
+
+        File[] encontrados = pasta.listFiles(f -> f.isFile() && ehPlanilha(f.getName()));
+        if (encontrados == null) encontrados = new File[0];
+        Arrays.sort(encontrados, Comparator.comparing(File::getName));
+
+        List<ResultadoArquivo> resultados = new ArrayList<>();
+        if (encontrados.length > 0) {
+            ExecutorService executor = Executors.newFixedThreadPool(
+                    Math.min(MAXIMO_THREADS, encontrados.length), new FabricaThreads());
+            try {
+                List<Future<ResultadoArquivo>> tarefas = new ArrayList<>();
+                for (File arquivo : encontrados) {
+                    tarefas.add(executor.submit(() -> importarArquivo(arquivo)));
+                }
+                for (int i = 0; i < tarefas.size(); i++) {
+                    resultados.add(aguardar(tarefas.get(i), encontrados[i]));
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        long tempoTotalMs = (System.nanoTime() - inicio) / 1_000_000;
+        ResultadoLote lote = new ResultadoLote(resultados, tempoTotalMs);
+        System.out.println("Importação em lote de " + pasta.getName() + ":\n" + lote.resumo());
+        return lote;
+    }
+
+    // Obra e Lista pelo nome do arquivo, ou null se o nome estiver fora do padrão
+    static String[] identificar(String nomeArquivo) {
+        Matcher m = PADRAO_NOME.matcher(nomeArquivo);
+        if (!m.matches()) return null;
+
+        String obra = m.group(2).trim().toUpperCase(Locale.ROOT);
+        String lista = String.valueOf(Integer.parseInt(m.group(1)));  // "03" -> "3", como nas listas já cadastradas
+        return new String[]{obra, lista};
+    }
+
+    // Funções Auxiliares
+
+    static ResultadoArquivo importarArquivo(File arquivo) {
+        long inicio = System.nanoTime();
+        String[] identificacao = identificar(arquivo.getName());
+        if (identificacao == null) {
+            return new ResultadoArquivo(arquivo, null, null, List.of(), 0, "nome fora do padrão", null);
+        }
+
+        RelatorioImportacao relatorio = ImportadorExcel.importarComRelatorio(arquivo, identificacao[0], identificacao[1],
+                null, null);
+        List<Vidro> vidros = relatorio.getVidros();
+        long tempoMs = (System.nanoTime() - inicio) / 1_000_000;
+        String erro = vidros.isEmpty() ? "nenhum item encontrado" : null;
+        return new ResultadoArquivo(arquivo, identificacao[0], identificacao[1], vidros, tempoMs, erro, relatorio);
+    }
+
+    private static ResultadoArquivo aguardar(Future<ResultadoArquivo> tarefa, File arquivo) {
+        try {
+            return tarefa.get();
+        } catch (ExecutionException e) {
+            e.getCause().printStackTrace();
+            return new ResultadoArquivo(arquivo, null, null, List.of(), 0, String.valueOf(e.getCause().getMessage()), null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new ResultadoArquivo(arquivo, null, null, List.of(), 0, "importação interrompida", null);
+        }
+    }
+
+    static boolean ehPlanilha(String nome) {
+        String minusculo = nome.toLowerCase(Locale.ROOT);
+        return !minusculo.startsWith("~$") && (minusculo.endsWith(".xlsx") || minusculo.endsWith(".xls")
+                || ImportadorExcel.ehTexto(new File(nome)));
+    }
+
+    // Threads nomeadas e em segundo plano (não impedem o fechamento do programa)
+    private static class FabricaThreads implements ThreadFactory {
+        private final AtomicInteger contador = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread t = new Thread(r, "importacao-lote-" + contador.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package br.com.vidros.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+// Leitura de listas exportadas em CSV/TSV pelo ERP.
+// O arquivo é mapeado em memória e os campos são localizados direto nos bytes:
+// nenhuma String é criada para as colunas que não são lidas como texto.
+class LeitorCsv {
+
+    private static final Charset WINDOWS_1252 = Charset.forName("windows-1252");
+
+    // Separadores aceitos, na ordem de preferência em caso de empate
+    private static final byte[] SEPARADORES = {';', '\t', ',', '|'};
+
+    // Linhas usadas para descobrir o separador
+    private static final int LINHAS_AMOSTRA = 20;
+
+    static void ler(File arquivo, MontadorVidros montador) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel canal = FileChannel.open(arquivo.toPath(), StandardOpenOption.READ)) {
+            buffer = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+        }
+
+        // 1. Codificação (BOM, UTF-8 válido ou Windows-1252)
+        int inicio = 0;
+        Charset charset;
+        if (temBom(buffer, 0xEF, 0xBB, 0xBF)) {
+            charset = StandardCharsets.UTF_8;
+            inicio = 3;
+        } else if (temBom(buffer, 0xFF, 0xFE) || temBom(buffer, 0xFE, 0xFF)) {
+            // UTF-16 é raro: converte para UTF-8 e segue pelo mesmo caminho
+            byte[] conteudo = new byte[buffer.remaining()];
+            buffer.get(0, conteudo);
+            buffer = ByteBuffer.wrap(new String(conteudo, StandardCharsets.UTF_16).getBytes(StandardCharsets.UTF_8));
+            charset = StandardCharsets.UTF_8;
+            if (temBom(buffer, 0xEF, 0xBB, 0xBF)) inicio = 3;
+        } else {
+            charset = utf8Valido(buffer) ? StandardCharsets.UTF_8 : WINDOWS_1252;
+        }
+
+        // 2. Separador
+        byte separador = detectarSeparador(buffer, inicio);
+        System.out.println("CSV: codificação " + charset.name() + ", separador '" +
+                (separador == '\t' ? "\\t" : String.valueOf((char) separador)) + "'");
+
+        // 3. Campos de cada linha
+        LinhaPlanilha linha = new LinhaPlanilha();
+        linha.usarBytes(buffer, charset);
+
+        int limite = buffer.limit();
+        ByteBuffer conteudo = buffer;   // A posição do buffer marca o progresso (os campos usam índices absolutos)
+        montador.acompanharLeitura(limite, conteudo::position);
+
+        int pos = inicio;
+        int numeroLinha = 1;    // Linha do arquivo onde o registro começa
+        while (pos < limite) {
+            linha.limpar();
+            linha.setNumero(numeroLinha);
+            int coluna = 0;
+
+            while (true) {
+                int inicioCampo = pos;
+                int fimCampo;
+                boolean escapadas = false;
+
+                if (pos < limite && buffer.get(pos) == '"') {
+                    // Campo entre aspas: pode conter separador, quebra de linha e aspas duplicadas ("")
+                    inicioCampo = ++pos;
+                    while (pos < limite) {
+                        if (buffer.get(pos) == '\n') numeroLinha++;     // Quebra de linha dentro do campo
+                        if (buffer.get(pos) == '"') {
+                            if (pos + 1 < limite && buffer.get(pos + 1) == '"') {
+                                escapadas = true;
+                                pos += 2;
+                                continue;
+                            }
+                            break;
+                        }
+                        pos++;
+                    }
+                    fimCampo = pos;
+                    if (pos < limite) pos++;  // Aspas de fechamento
+                    // Ignora o que sobrar até o separador (CSV malformado)
+                    while (pos < limite && buffer.get(pos) != separador && buffer.get(pos) != '\n' && buffer.get(pos) != '\r') {
+                        pos++;
+                    }
+                } else {
+                    while (pos < limite) {
+                        byte b = buffer.get(pos);
+                        if (b == separador || b == '\n' || b == '\r') break;
+                        pos++;
+                    }
+                    fimCampo = pos;
+                }
+
+                linha.adicionarBytes(coluna++, inicioCampo, fimCampo, escapadas);
+
+                if (pos < limite && buffer.get(pos) == separador) {
+                    pos++;
+                    continue;
+                }
+                break;
+            }
+
+            // Fim da linha (\n, \r\n ou \r)
+            if (pos < limite && buffer.get(pos) == '\r') pos++;
+            if (pos < limite && buffer.get(pos) == '\n') pos++;
+            numeroLinha++;
+
+            buffer.position(pos);
+            montador.processarLinha(linha);
+        }
+    }
+
+    // Funções Auxiliares
+
+    private static boolean temBom(ByteBuffer buffer, int... bom) {
+        if (buffer.limit() < bom.length) return false;
+        for (int i = 0; i < bom.length; i++) {
+            if ((buffer.get(i) & 0xFF) != bom[i]) return false;
+        }
+        return true;
+    }
+
+    // Confere as sequências multibyte do UTF-8 no arquivo inteiro
+    private static boolean utf8Valido(ByteBuffer buffer) {
+        int limite = buffer.limit();
+        int i = 0;
+        while (i < limite) {
+            int b = buffer.get(i) & 0xFF;
+            if (b < 0x80) {
+                i++;
+                continue;
+            }
+            int continuacoes;
+            if (b >= 0xC2 && b <= 0xDF) continuacoes = 1;
+            else if (b >= 0xE0 && b <= 0xEF) continuacoes = 2;
+            else if (b >= 0xF0 && b <= 0xF4) continuacoes = 3;
+            else return false;
+
+            if (i + continuacoes >= limite) return false;   // Sequência cortada no fim do arquivo
+            for (int k = 1; k <= continuacoes; k++) {
+                if ((buffer.get(i + k) & 0xC0) != 0x80) return false;
+            }
+            i += continuacoes + 1;
+        }
+        return true;
+    }
+
+    // O separador mais frequente (fora de aspas) nas primeiras linhas
+    private static byte detectarSeparador(ByteBuffer buffer, int inicio) {
+        int[] contagem = new int[SEPARADORES.length];
+        int linhas = 0;
+        boolean entreAspas = false;
+
+        for (int i = inicio; i < buffer.limit() && linhas < LINHAS_AMOSTRA; i++) {
+            byte b = buffer.get(i);
+            if (b == '"') {
+                entreAspas = !entreAspas;
+            } else if (!entreAspas) {
+                if (b == '\n') {
+                    linhas++;
+                    continue;
+                }
+                for (int s = 0; s < SEPARADORES.length; s++) {
+                    if (b == SEPARADORES[s]) contagem[s]++;
+                }
+            }
+        }
+
+        int escolhido = 0;
+        for (int s = 1; s < SEPARADORES.length; s++) {
+            if (contagem[s] > contagem[escolhido]) escolhido = s;
+        }
+        return SEPARADORES[escolhido];
+    }
+}
@@ -0,0 +1,166 @@
+package br.com.vidros.io;
+
+import org.apache.poi.hssf.eventusermodel.HSSFEventFactory;
+import org.apache.poi.hssf.eventusermodel.HSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFRequest;
+import org.apache.poi.hssf.eventusermodel.MissingRecordAwareHSSFListener;
+import org.apache.poi.hssf.eventusermodel.dummyrecord.LastCellOfRowDummyRecord;
+import org.apache.poi.hssf.record.BOFRecord;
+import org.apache.poi.hssf.record.BlankRecord;
+import org.apache.poi.hssf.record.BoolErrRecord;
+import org.apache.poi.hssf.record.CellValueRecordInterface;
+import org.apache.poi.hssf.record.EOFRecord;
+import org.apache.poi.hssf.record.FormulaRecord;
+import org.apache.poi.hssf.record.LabelRecord;
+import org.apache.poi.hssf.record.LabelSSTRecord;
+import org.apache.poi.hssf.record.NumberRecord;
+import org.apache.poi.hssf.record.RKRecord;
+import org.apache.poi.hssf.record.RowRecord;
+import org.apache.poi.hssf.record.SSTRecord;
+import org.apache.poi.hssf.record.StringRecord;
+import org.apache.poi.hssf.record.Record;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.poifs.filesystem.DirectoryNode;
+import org.apache.poi.poifs.filesystem.DocumentEntry;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.ss.usermodel.CellType;
+
+import java.io.File;
+import java.util.BitSet;
+
+// Leitura em streaming (API de eventos do HSSF) da primeira aba de um .xls antigo.
+// Os registros do arquivo são convertidos em LinhaPlanilha conforme chegam, sem montar o HSSFWorkbook.
+class LeitorXls {
+
+    static void ler(File arquivo, MontadorVidros montador) throws Exception {
+        try (POIFSFileSystem sistemaArquivos = new POIFSFileSystem(arquivo, true)) {
+            TratadorRegistros tratador = new TratadorRegistros(montador);
+
+            HSSFRequest requisicao = new HSSFRequest();
+            requisicao.addListenerForAllRecords(new MissingRecordAwareHSSFListener(tratador));
+
+            // Stream "Workbook" (ou "Book") lido diretamente, para acompanhar o progresso pelos bytes
+            DirectoryNode raiz = sistemaArquivos.getRoot();
+            DocumentEntry documento = (DocumentEntry) raiz.getEntryCaseInsensitive(HSSFWorkbook.getWorkbookDirEntryName(raiz));
+            try (EntradaContada entrada = new EntradaContada(raiz.createDocumentInputStream(documento))) {
+                montador.acompanharLeitura(documento.getSize(), entrada::getLidos);
+                new HSSFEventFactory().processEvents(requisicao, entrada);
+            }
+        }
+    }
+
+    // Converte os registros de célula em linhas, na mesma ordem em que a leitura DOM percorre a aba
+    private static class TratadorRegistros implements HSSFListener {
+
+        private final MontadorVidros montador;
+        private final LinhaPlanilha linha = new LinhaPlanilha();
+
+        private SSTRecord textosCompartilhados;
+        private int abasLidas = 0;
+        private boolean naPrimeiraAba = false;
+
+        // Linhas declaradas na aba (a leitura DOM também percorre as linhas sem células)
+        private final BitSet linhasDeclaradas = new BitSet();
+        private int linhaAtual = -1;    // Linha com células no buffer
+        private int proximaLinha = 0;   // Todas as linhas anteriores já foram entregues
+
+        // Fórmula com resultado em texto: o valor vem no StringRecord seguinte
+        private int linhaFormula = -1;
+        private int colunaFormula = -1;
+
+        TratadorRegistros(MontadorVidros montador) {
+            this.montador = montador;
+        }
+
+        @Override
+        public void processRecord(Record registro) {
+            if (registro instanceof SSTRecord sst) {
+                textosCompartilhados = sst;
+                return;
+            }
+            if (registro instanceof BOFRecord bof) {
+                if (bof.getType() == BOFRecord.TYPE_WORKSHEET) {
+                    naPrimeiraAba = (++abasLidas == 1);
+                }
+                return;
+            }
+            if (!naPrimeiraAba) return;   // Só a primeira aba é importada
+
+            if (registro instanceof RowRecord row) {
+                linhasDeclaradas.set(row.getRowNumber());
+            } else if (registro instanceof LastCellOfRowDummyRecord) {
+                concluirLinha();
+            } else if (registro instanceof EOFRecord) {
+                concluirLinha();
+                entregarLinhasVazias(Integer.MAX_VALUE);
+                naPrimeiraAba = false;
+            } else if (registro instanceof StringRecord texto) {
+                if (linhaFormula != -1) {
+                    adicionar(linhaFormula, colunaFormula, LinhaPlanilha.TipoCelula.FORMULA_TEXTO, 0, texto.getString());
+                    linhaFormula = -1;
+                }
+            } else if (registro instanceof CellValueRecordInterface celula) {
+                adicionarCelula(celula);
+            }
+        }
+
+        // Mesma classificação que o POI faz nas células do HSSFWorkbook
+        private void adicionarCelula(CellValueRecordInterface celula) {
+            int row = celula.getRow();
+            int coluna = celula.getColumn();
+
+            if (celula instanceof NumberRecord numero) {
+                adicionar(row, coluna, LinhaPlanilha.TipoCelula.NUMERICO, numero.getValue(), null);
+            } else if (celula instanceof RKRecord rk) {
+                adicionar(row, coluna, LinhaPlanilha.TipoCelula.NUMERICO, rk.getRKNumber(), null);
+            } else if (celula instanceof LabelSSTRecord label) {
+                String texto = textosCompartilhados.getString(label.getSSTIndex()).getString();
+                adicionar(row, coluna, LinhaPlanilha.TipoCelula.TEXTO, 0, texto);
+            } else if (celula instanceof LabelRecord label) {
+                adicionar(row, coluna, LinhaPlanilha.TipoCelula.TEXTO, 0, label.getValue());
+            } else if (celula instanceof FormulaRecord formula) {
+                if (formula.getCachedResultTypeEnum() == CellType.STRING) {
+                    if (formula.hasCachedResultString()) {
+                        // Guarda a posição até chegar o StringRecord com o texto
+                        linhaFormula = row;
+                        colunaFormula = coluna;
+                    }
+                    // Texto vazio, ou o valor definitivo quando o StringRecord chegar
+                    adicionar(row, coluna, LinhaPlanilha.TipoCelula.FORMULA_TEXTO, 0, "");
+                } else {
+                    adicionar(row, coluna, LinhaPlanilha.TipoCelula.OUTRO, 0, null);
+                }
+            } else if (celula instanceof BlankRecord || celula instanceof BoolErrRecord) {
+                adicionar(row, coluna, LinhaPlanilha.TipoCelula.OUTRO, 0, null);
+            }
+        }
+
+        private void adicionar(int row, int coluna, LinhaPlanilha.TipoCelula tipo, double numero, String texto) {
+            if (row != linhaAtual) {
+                concluirLinha();
+                entregarLinhasVazias(row);
+                linha.limpar();
+                linha.setNumero(row + 1);
+                linhaAtual = row;
+            }
+            linha.adicionar(coluna, tipo, numero, texto);
+        }
+
+        private void concluirLinha() {
+            if (linhaAtual == -1) return;
+            montador.processarLinha(linha);
+            proximaLinha = linhaAtual + 1;
+            linhaAtual = -1;
+        }
+
+        // Linhas declaradas sem nenhuma célula, anteriores à linha informada
+        private void entregarLinhasVazias(int ate) {
+            for (int i = linhasDeclaradas.nextSetBit(proximaLinha); i >= 0 && i < ate; i = linhasDeclaradas.nextSetBit(i + 1)) {
+                linha.limpar();
+                linha.setNumero(i + 1);
+                montador.processarLinha(linha);
+                proximaLinha = i + 1;
+            }
+        }
+    }
+}
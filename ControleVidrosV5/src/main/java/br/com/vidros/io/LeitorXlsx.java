@@ -0,0 +1,163 @@
+package br.com.vidros.io;
+
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.io.File;
+
+// Leitura em streaming (SAX) da primeira aba de um .xlsx.
+// Não monta o modelo da planilha em memória: cada linha do XML é entregue ao montador assim que termina.
+class LeitorXlsx {
+
+    static void ler(File arquivo, MontadorVidros montador) throws Exception {
+        try (OPCPackage pacote = OPCPackage.open(arquivo, PackageAccess.READ)) {
+            XSSFReader leitor = new XSSFReader(pacote);
+            // Sem os textos fonéticos, igual ao valor da célula na leitura DOM
+            ReadOnlySharedStringsTable textosCompartilhados = new ReadOnlySharedStringsTable(pacote, false);
+
+            XSSFReader.SheetIterator abas = (XSSFReader.SheetIterator) leitor.getSheetsData();
+            if (!abas.hasNext()) return;
+
+            try (EntradaContada primeiraAba = new EntradaContada(abas.next())) {
+                // Progresso pelos bytes do XML da aba (tamanho descompactado)
+                montador.acompanharLeitura(abas.getSheetPart().getSize(), primeiraAba::getLidos);
+
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new TratadorAba(textosCompartilhados, montador));
+                parser.parse(new InputSource(primeiraAba));
+            }
+        }
+    }
+
+    // Converte os elementos <row>/<c> do XML da aba em LinhaPlanilha
+    private static class TratadorAba extends DefaultHandler {
+
+        private final ReadOnlySharedStringsTable textosCompartilhados;
+        private final MontadorVidros montador;
+        private final LinhaPlanilha linha = new LinhaPlanilha();
+        private int numeroLinha = 0;
+
+        // Estado da célula atual
+        private int coluna;
+        private int ultimaColuna;
+        private String tipoXml;
+        private boolean temFormula;
+        private boolean lendoValor;
+        private boolean lendoTextoInline;
+        private boolean dentroFonetico;
+        private final StringBuilder valor = new StringBuilder();
+        private final StringBuilder textoInline = new StringBuilder();
+
+        TratadorAba(ReadOnlySharedStringsTable textosCompartilhados, MontadorVidros montador) {
+            this.textosCompartilhados = textosCompartilhados;
+            this.montador = montador;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes atributos) {
+            switch (localName) {
+                case "row" -> {
+                    linha.limpar();
+                    String numero = atributos.getValue("r");
+                    numeroLinha = (numero != null) ? Integer.parseInt(numero) : numeroLinha + 1;
+                    linha.setNumero(numeroLinha);
+                    ultimaColuna = -1;
+                }
+                case "c" -> {
+                    String referencia = atributos.getValue("r");
+                    coluna = (referencia != null) ? colunaDaReferencia(referencia) : ultimaColuna + 1;
+                    tipoXml = atributos.getValue("t");
+                    temFormula = false;
+                    valor.setLength(0);
+                    textoInline.setLength(0);
+                }
+                case "f" -> temFormula = true;
+                case "v" -> lendoValor = true;
+                case "rPh" -> dentroFonetico = true;
+                case "t" -> lendoTextoInline = !dentroFonetico;
+                default -> { }
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            switch (localName) {
+                case "v" -> lendoValor = false;
+                case "t" -> lendoTextoInline = false;
+                case "rPh" -> dentroFonetico = false;
+                case "c" -> {
+                    adicionarCelula();
+                    ultimaColuna = coluna;
+                }
+                case "row" -> montador.processarLinha(linha);
+                default -> { }
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int inicio, int tamanho) {
+            if (lendoValor) {
+                valor.append(ch, inicio, tamanho);
+            } else if (lendoTextoInline) {
+                textoInline.append(ch, inicio, tamanho);
+            }
+        }
+
+        // Mesma classificação que o POI faz nas células do modelo DOM
+        private void adicionarCelula() {
+            String tipo = (tipoXml == null) ? "n" : tipoXml;
+
+            if (temFormula) {
+                // Só o resultado em texto é aproveitado (igual ao getStringCellValue da fórmula)
+                if (tipo.equals("str") || tipo.equals("s")) {
+                    linha.adicionar(coluna, LinhaPlanilha.TipoCelula.FORMULA_TEXTO, 0, valor.toString());
+                } else {
+                    linha.adicionar(coluna, LinhaPlanilha.TipoCelula.OUTRO, 0, null);
+                }
+                return;
+            }
+
+            switch (tipo) {
+                case "s" -> {
+                    String texto = "";
+                    if (valor.length() > 0) {
+                        int indice = Integer.parseInt(valor.toString().trim());
+                        texto = textosCompartilhados.getItemAt(indice).getString();
+                    }
+                    linha.adicionar(coluna, LinhaPlanilha.TipoCelula.TEXTO, 0, texto);
+                }
+                case "inlineStr" -> linha.adicionar(coluna, LinhaPlanilha.TipoCelula.TEXTO, 0, textoInline.toString());
+                case "str" -> linha.adicionar(coluna, LinhaPlanilha.TipoCelula.TEXTO, 0, valor.toString());
+                case "n" -> {
+                    double numero;
+                    try {
+                        numero = Double.parseDouble(valor.toString());
+                    } catch (NumberFormatException e) {
+                        linha.adicionar(coluna, LinhaPlanilha.TipoCelula.OUTRO, 0, null);  // Célula vazia ou inválida
+                        return;
+                    }
+                    linha.adicionar(coluna, LinhaPlanilha.TipoCelula.NUMERICO, numero, null);
+                }
+                default -> linha.adicionar(coluna, LinhaPlanilha.TipoCelula.OUTRO, 0, null);  // Booleano, erro
+            }
+        }
+
+        // "AB12" -> 27 (colunas começam em 0)
+        private static int colunaDaReferencia(String referencia) {
+            int coluna = 0;
+            for (int i = 0; i < referencia.length(); i++) {
+                char c = referencia.charAt(i);
+                if (c < 'A' || c > 'Z') break;
+                coluna = coluna * 26 + (c - 'A' + 1);
+            }
+            return coluna - 1;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package br.com.vidros.io;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+// Uma linha da planilha já lida, independente da forma de leitura (DOM, streaming ou CSV).
+// Guarda o valor bruto de cada célula e faz a conversão só quando a coluna é consultada,
+// com as mesmas regras da leitura original pelas células do POI.
+// O objeto é reaproveitado de uma linha para a outra.
+class LinhaPlanilha {
+
+    enum TipoCelula {
+        NUMERICO,       // Número (inclui datas)
+        TEXTO,          // Texto digitado
+        FORMULA_TEXTO,  // Fórmula com resultado em texto
+        TEXTO_BYTES,    // Campo de CSV: trecho do arquivo, só vira String se a coluna for lida como texto
+        OUTRO           // Vazia, booleana, erro ou fórmula com resultado não textual
+    }
+
+    // Número da linha na planilha (1 = primeira), para o relatório da importação
+    private int numero = 0;
+
+    // Células na ordem em que aparecem na linha
+    private int quantidade = 0;
+    private int[] colunas = new int[16];
+
+    // Valores indexados pelo número da coluna
+    private TipoCelula[] tipos = new TipoCelula[16];
+    private double[] numeros = new double[16];
+    private String[] textos = new String[16];
+
+    // Campos de CSV: posição do trecho no buffer do arquivo (sem cópia)
+    private ByteBuffer bytes;
+    private Charset charset;
+    private int[] inicios = new int[16];
+    private int[] fins = new int[16];
+    private boolean[] aspasEscapadas = new boolean[16];
+    private byte[] copia = new byte[256];
+    private final TrechoBytes trecho = new TrechoBytes();
+
+    // Buffer e codificação dos campos TEXTO_BYTES
+    void usarBytes(ByteBuffer bytes, Charset charset) {
+        this.bytes = bytes;
+        this.charset = charset;
+    }
+
+    void limpar() {
+        for (int i = 0; i < quantidade; i++) {
+            int coluna = colunas[i];
+            tipos[coluna] = null;
+            textos[coluna] = null;
+        }
+        quantidade = 0;
+    }
+
+    void adicionar(int coluna, TipoCelula tipo, double numero, String texto) {
+        if (coluna < 0) return;
+        garantirColuna(coluna);
+        if (tipos[coluna] == null) {
+            if (quantidade == colunas.length) {
+                colunas = Arrays.copyOf(colunas, quantidade * 2);
+            }
+            colunas[quantidade++] = coluna;
+        }
+        tipos[coluna] = tipo;
+        numeros[coluna] = numero;
+        textos[coluna] = texto;
+    }
+
+    // Campo de CSV entre as posições [inicio, fim) do buffer; com aspas "" a desfazer se indicado
+    void adicionarBytes(int coluna, int inicio, int fim, boolean comAspasEscapadas) {
+        adicionar(coluna, TipoCelula.TEXTO_BYTES, 0, null);
+        inicios[coluna] = inicio;
+        fins[coluna] = fim;
+        aspasEscapadas[coluna] = comAspasEscapadas;
+    }
+
+    void setNumero(int numero) {
+        this.numero = numero;
+    }
+
+    int getNumero() {
+        return numero;
+    }
+
+    int getQuantidadeCelulas() {
+        return quantidade;
+    }
+
+    // Coluna da i-ésima célula da linha
+    int getColuna(int i) {
+        return colunas[i];
+    }
+
+    // Funções de Leitura Robusta de Células
+
+    // Número vira texto sem casas decimais; fórmulas só valem se o resultado for texto
+    String texto(int coluna) {
+        TipoCelula tipo = tipo(coluna);
+        if (tipo == null) return "";
+        return switch (tipo) {
+            case NUMERICO -> String.valueOf((int) numeros[coluna]);
+            case TEXTO, FORMULA_TEXTO -> textos[coluna].trim();
+            case TEXTO_BYTES -> decodificar(coluna).trim();
+            default -> "";
+        };
+    }
+
+    // Sem nenhuma célula com número ou texto (só usada nas linhas descartadas)
+    boolean vazia() {
+        for (int i = 0; i < quantidade; i++) {
+            int coluna = colunas[i];
+            if (tipos[coluna] == TipoCelula.NUMERICO || !texto(coluna).isEmpty()) return false;
+        }
+        return true;
+    }
+
+    int inteiro(int coluna) {
+        TipoCelula tipo = tipo(coluna);
+        if (tipo == TipoCelula.NUMERICO) {
+            return (int) numeros[coluna];
+        } else if (tipo == TipoCelula.TEXTO) {
+            // Medida digitada como texto ("1.606", "1606 mm", "1606,5")
+            return ConversorNumero.inteiro(textos[coluna]);
+        } else if (tipo == TipoCelula.TEXTO_BYTES) {
+            // Direto dos bytes do arquivo, sem criar String
+            trecho.definir(inicios[coluna], fins[coluna]);
+            return ConversorNumero.inteiro(trecho);
+        }
+        return 0;
+    }
+
+    private String decodificar(int coluna) {
+        String texto = decodificarTrecho(inicios[coluna], fins[coluna]);
+        return aspasEscapadas[coluna] ? texto.replace("\"\"", "\"") : texto;
+    }
+
+    private String decodificarTrecho(int inicio, int fim) {
+        int tamanho = fim - inicio;
+        if (copia.length < tamanho) {
+            copia = new byte[Math.max(tamanho, copia.length * 2)];
+        }
+        bytes.get(inicio, copia, 0, tamanho);
+        return new String(copia, 0, tamanho, charset);
+    }
+
+    private void garantirColuna(int coluna) {
+        if (coluna < tipos.length) return;
+        int novoTamanho = Math.max(coluna + 1, tipos.length * 2);
+        tipos = Arrays.copyOf(tipos, novoTamanho);
+        numeros = Arrays.copyOf(numeros, novoTamanho);
+        textos = Arrays.copyOf(textos, novoTamanho);
+        inicios = Arrays.copyOf(inicios, novoTamanho);
+        fins = Arrays.copyOf(fins, novoTamanho);
+        aspasEscapadas = Arrays.copyOf(aspasEscapadas, novoTamanho);
+    }
+
+    private TipoCelula tipo(int coluna) {
+        return (coluna >= 0 && coluna < tipos.length) ? tipos[coluna] : null;
+    }
+
+    // Trecho do buffer visto como texto ASCII (os separadores e dígitos nunca aparecem
+    // dentro de caracteres multibyte do UTF-8 nem são alterados no Windows-1252)
+    private class TrechoBytes implements CharSequence {
+        private int inicio;
+        private int fim;
+
+        void definir(int inicio, int fim) {
+            this.inicio = inicio;
+            this.fim = fim;
+        }
+
+        @Override
+        public int length() {
+            return fim - inicio;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (char) (bytes.get(inicio + index) & 0xFF);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return decodificarTrecho(inicio + start, inicio + end);
+        }
+
+        @Override
+        public String toString() {
+            return decodificarTrecho(inicio, fim);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package br.com.vidros.io;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+// Identifica a coluna pelo texto do cabeçalho, com uma tabela de sinônimos já normalizada.
+// A tabela padrão pode ser trocada pelo arquivo "cabecalhos.properties" (ou o indicado em -Dvidros.cabecalhos),
+// uma linha por campo com os sinônimos separados por vírgula, ex.: LARGURA=LARGURA,LARG,BASE
+class MapeadorCabecalho {
+
+    // Campos na ordem de prioridade: o primeiro que casar com o texto da célula é o escolhido
+    enum Campo {
+        POSICAO("POSICAO", "CODIGO", "COD"),
+        TIPOLOGIA("TIPO", "TIPOLOGIA"),
+        ESPECIFICACAO("ESPECIFICACAO", "DESCRICAO"),
+        LARGURA("LARGURA"),
+        ALTURA("ALTURA"),
+        QUANTIDADE("QUANT", "QTD");
+
+        private final String[] sinonimosPadrao;
+
+        Campo(String... sinonimosPadrao) {
+            this.sinonimosPadrao = sinonimosPadrao;
+        }
+    }
+
+    private static final String ARQUIVO_CONFIGURACAO = System.getProperty("vidros.cabecalhos", "cabecalhos.properties");
+
+    // Conversão de cada caractere Latin-1 para maiúscula sem acento (ex.: 'ç' -> "C", 'º' -> "")
+    private static final String[] LATIN1 = new String[256];
+
+    static {
+        for (int c = 0; c < LATIN1.length; c++) {
+            LATIN1[c] = normalizarLento(String.valueOf((char) c));
+        }
+    }
+
+    private static volatile MapeadorCabecalho padrao;
+
+    private final Campo[] campos = Campo.values();
+    private final String[][] sinonimos = new String[campos.length][];
+
+    private MapeadorCabecalho(Map<Campo, String[]> tabela) {
+        for (Campo campo : campos) {
+            String[] lista = tabela.get(campo);
+            String[] normalizados = new String[lista.length];
+            for (int i = 0; i < lista.length; i++) {
+                normalizados[i] = normalizar(lista[i].trim());
+            }
+            sinonimos[campo.ordinal()] = normalizados;
+        }
+    }
+
+    // Tabela carregada uma única vez (padrão + arquivo de configuração, se existir)
+    static MapeadorCabecalho padrao() {
+        MapeadorCabecalho m = padrao;
+        if (m == null) {
+            synchronized (MapeadorCabecalho.class) {
+                m = padrao;
+                if (m == null) {
+                    m = carregar(new File(ARQUIVO_CONFIGURACAO));
+                    padrao = m;
+                }
+            }
+        }
+        return m;
+    }
+
+    static MapeadorCabecalho carregar(File configuracao) {
+        Map<Campo, String[]> tabela = new EnumMap<>(Campo.class);
+        for (Campo campo : Campo.values()) {
+            tabela.put(campo, campo.sinonimosPadrao);
+        }
+
+        if (configuracao.isFile()) {
+            Properties props = new Properties();
+            try (InputStreamReader in = new InputStreamReader(new FileInputStream(configuracao), StandardCharsets.UTF_8)) {
+                props.load(in);
+                for (Campo campo : Campo.values()) {
+                    String valor = props.getProperty(campo.name());
+                    if (valor == null || valor.isBlank()) continue;
+
+                    List<String> lista = new ArrayList<>();
+                    for (String s : valor.split(",")) {
+                        if (!s.isBlank()) lista.add(s);
+                    }
+                    tabela.put(campo, lista.toArray(new String[0]));
+                }
+                System.out.println("Sinônimos de cabeçalho carregados de " + configuracao.getName());
+            } catch (IOException e) {
+                System.err.println("ERRO ao ler " + configuracao.getName() + ": " + e.getMessage() +
+                        ". Usando os sinônimos padrão.");
+            }
+        }
+        return new MapeadorCabecalho(tabela);
+    }
+
+    // Campo correspondente ao texto da célula, ou null se não for um cabeçalho conhecido
+    Campo identificar(String textoCelula) {
+        String texto = normalizar(textoCelula);
+        for (Campo campo : campos) {
+            for (String sinonimo : sinonimos[campo.ordinal()]) {
+                if (texto.contains(sinonimo)) return campo;
+            }
+        }
+        return null;
+    }
+
+    // Funções Auxiliares
+
+    // Maiúsculas sem acentos, caractere a caractere pela tabela Latin-1
+    static String normalizar(String texto) {
+        StringBuilder sb = null;
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c >= LATIN1.length) {
+                return normalizarLento(texto);  // Fora do Latin-1 (raro): caminho completo
+            }
+            String convertido = LATIN1[c];
+            if (sb == null) {
+                if (convertido.length() == 1 && convertido.charAt(0) == c) continue;  // Sem mudança até aqui
+                sb = new StringBuilder(texto.length());
+                sb.append(texto, 0, i);
+            }
+            sb.append(convertido);
+        }
+        return (sb == null) ? texto : sb.toString();
+    }
+
+    // Mesmo resultado do toUpperCase + Normalizer (NFD) + remoção do que não for ASCII
+    private static String normalizarLento(String texto) {
+        String decomposto = Normalizer.normalize(texto.toUpperCase(), Normalizer.Form.NFD);
+        StringBuilder sb = new StringBuilder(decomposto.length());
+        for (int i = 0; i < decomposto.length(); i++) {
+            char c = decomposto.charAt(i);
+            if (c < 0x80) sb.append(c);
+        }
+        return sb.toString();
+    }
+}
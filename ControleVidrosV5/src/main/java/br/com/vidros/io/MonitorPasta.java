@@ -0,0 +1,314 @@
+package br.com.vidros.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+// Importação automática das listas deixadas em uma pasta compartilhada (WatchService).
+// Um arquivo só é lido depois de ficar "parado" (sem eventos, mesmo tamanho e mesma data) pelo tempo de espera,
+// para não pegar a planilha ainda sendo copiada ou salva. O SHA-256 de cada arquivo importado fica gravado
+// em disco: o mesmo conteúdo (cópia, renomeado, reinício do programa) não é importado duas vezes.
+// Obra e Lista vêm do nome do arquivo, como na importação de pasta (ver ImportadorLote).
+public class MonitorPasta {
+
+    // Recebe os arquivos lidos em cada rodada (na thread do monitor).
+    // Só retorna depois de publicar: então os arquivos são marcados como importados.
+    @FunctionalInterface
+    public interface OuvinteImportacao {
+        void importados(List<ImportadorLote.ResultadoArquivo> resultados);
+    }
+
+    // Tempo sem alterações para considerar o arquivo completo (propriedade "vidros.monitor.espera", em ms)
+    private static final long ESPERA_MS = Long.getLong("vidros.monitor.espera", 2000L);
+
+    // Hashes dos arquivos já importados, uma linha por arquivo: "sha256;nome;data"
+    private static final File ARQUIVO_HASHES = new File("controle_vidros.importados");
+
+    private final Path pasta;
+    private final OuvinteImportacao ouvinte;
+
+    // Estado usado apenas pela thread do monitor (sem sincronização)
+    private final Map<Path, Assinatura> aguardando = new HashMap<>();
+    private final Set<String> hashesImportados = new HashSet<>();
+    private boolean verificacaoAgendada = false;
+
+    private final ScheduledExecutorService executor;
+    private WatchService watcher;
+
+    // Tamanho e data do arquivo no último evento
+    private static class Assinatura {
+        final long tamanho;
+        final long modificado;
+        final long ultimoEvento;
+
+        Assinatura(long tamanho, long modificado, long ultimoEvento) {
+            this.tamanho = tamanho;
+            this.modificado = modificado;
+            this.ultimoEvento = ultimoEvento;
+        }
+    }
+
+    public MonitorPasta(File pasta, OuvinteImportacao ouvinte) {
+        this.pasta = pasta.toPath().toAbsolutePath();
+        this.ouvinte = ouvinte;
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "monitor-pasta");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public File getPasta() {
+        return pasta.toFile();
+    }
+
+    public void iniciar() throws IOException {
+        watcher = FileSystems.getDefault().newWatchService();
+        pasta.register(watcher, ENTRY_CREATE, ENTRY_MODIFY);
+
+        // Arquivos que chegaram com o programa fechado
+        executor.execute(() -> {
+            carregarHashes();
+            varrerPasta();
+        });
+
+        Thread eventos = new Thread(this::receberEventos, "monitor-pasta-eventos");
+        eventos.setDaemon(true);
+        eventos.start();
+        System.out.println("Monitorando a pasta " + pasta);
+    }
+
+    public void encerrar() {
+        try {
+            if (watcher != null) watcher.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        executor.shutdownNow();
+        System.out.println("Monitor da pasta " + pasta + " encerrado.");
+    }
+
+    // Funções da Thread de Eventos
+
+    private void receberEventos() {
+        try {
+            while (true) {
+                WatchKey chave = watcher.take();
+                for (WatchEvent<?> evento : chave.pollEvents()) {
+                    if (evento.kind() == OVERFLOW) {
+                        executor.execute(this::varrerPasta);   // Eventos perdidos: confere a pasta inteira
+                        continue;
+                    }
+                    Path arquivo = pasta.resolve((Path) evento.context());
+                    if (ImportadorLote.ehPlanilha(arquivo.getFileName().toString())) {
+                        executor.execute(() -> registrarEvento(arquivo));
+                    }
+                }
+                if (!chave.reset()) {
+                    System.err.println("AVISO: A pasta monitorada " + pasta + " não está mais acessível.");
+                    return;
+                }
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            // Monitor encerrado
+        }
+    }
+
+    // Funções da Thread do Monitor
+
+    private void varrerPasta() {
+        try (DirectoryStream<Path> arquivos = Files.newDirectoryStream(pasta)) {
+            for (Path arquivo : arquivos) {
+                if (Files.isRegularFile(arquivo) && ImportadorLote.ehPlanilha(arquivo.getFileName().toString())) {
+                    registrarEvento(arquivo);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("ERRO ao listar a pasta monitorada: " + e.getMessage());
+        }
+    }
+
+    private void registrarEvento(Path arquivo) {
+        Assinatura assinatura = ler(arquivo, System.currentTimeMillis());
+        if (assinatura == null) {
+            aguardando.remove(arquivo);     // Apagado ou renomeado antes de terminar
+            return;
+        }
+        aguardando.put(arquivo, assinatura);
+        agendarVerificacao(ESPERA_MS);
+    }
+
+    private void agendarVerificacao(long atrasoMs) {
+        if (!verificacaoAgendada) {
+            verificacaoAgendada = true;
+            executor.schedule(this::verificarAguardando, atrasoMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // Importa os arquivos que pararam de mudar; os demais esperam a próxima verificação
+    private void verificarAguardando() {
+        verificacaoAgendada = false;
+        long agora = System.currentTimeMillis();
+
+        List<Path> prontos = new ArrayList<>();
+        long proximaMs = ESPERA_MS;     // Até o próximo arquivo completar o tempo de espera
+        Iterator<Map.Entry<Path, Assinatura>> it = aguardando.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Path, Assinatura> entrada = it.next();
+            Assinatura anterior = entrada.getValue();
+            long restanteMs = anterior.ultimoEvento + ESPERA_MS - agora;
+            if (restanteMs > 0) {
+                proximaMs = Math.min(proximaMs, restanteMs);
+                continue;
+            }
+
+            Assinatura atual = ler(entrada.getKey(), anterior.ultimoEvento);
+            if (atual == null) {
+                it.remove();
+            } else if (atual.tamanho != anterior.tamanho || atual.modificado != anterior.modificado) {
+                entrada.setValue(new Assinatura(atual.tamanho, atual.modificado, agora));  // Ainda sendo gravado
+            } else if (livre(entrada.getKey())) {
+                prontos.add(entrada.getKey());
+                it.remove();
+            } else {
+                entrada.setValue(new Assinatura(atual.tamanho, atual.modificado, agora));  // Aberto por outro programa
+            }
+        }
+
+        if (!prontos.isEmpty()) importar(prontos);
+
+        if (!aguardando.isEmpty()) agendarVerificacao(proximaMs);
+    }
+
+    private void importar(List<Path> prontos) {
+        prontos.sort(Comparator.comparing(p -> p.getFileName().toString()));
+
+        List<ImportadorLote.ResultadoArquivo> resultados = new ArrayList<>();
+        List<String> hashesNovos = new ArrayList<>();
+        for (Path arquivo : prontos) {
+            String hash;
+            try {
+                hash = calcularHash(arquivo);
+            } catch (IOException e) {
+                System.err.println("ERRO ao ler " + arquivo.getFileName() + ": " + e.getMessage());
+                continue;
+            }
+            if (hashesImportados.contains(hash) || hashesNovos.contains(hash)) {
+                System.out.println("Monitor: " + arquivo.getFileName() + " já foi importado (mesmo conteúdo).");
+                continue;
+            }
+
+            ImportadorLote.ResultadoArquivo resultado = ImportadorLote.importarArquivo(arquivo.toFile());
+            resultados.add(resultado);
+            hashesNovos.add(resultado.isImportado() ? hash : null);
+        }
+        if (resultados.isEmpty()) return;
+
+        try {
+            ouvinte.importados(resultados);
+        } catch (RuntimeException e) {
+            // Não publicado: os arquivos serão lidos de novo no próximo evento ou reinício
+            System.err.println("ERRO ao publicar a importação automática.");
+            e.printStackTrace();
+            return;
+        }
+
+        for (int i = 0; i < resultados.size(); i++) {
+            if (hashesNovos.get(i) != null) {
+                marcarImportado(hashesNovos.get(i), resultados.get(i).getArquivo().getName());
+            }
+        }
+    }
+
+    // Funções Auxiliares
+
+    private static Assinatura ler(Path arquivo, long ultimoEvento) {
+        try {
+            return new Assinatura(Files.size(arquivo), Files.getLastModifiedTime(arquivo).toMillis(), ultimoEvento);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    // No Windows o Excel bloqueia a planilha aberta: só lê quando ninguém mais estiver com ela
+    private static boolean livre(Path arquivo) {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ);
+             FileLock trava = canal.tryLock(0, Long.MAX_VALUE, true)) {
+            return trava != null;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static String calcularHash(Path arquivo) throws IOException {
+        MessageDigest sha;
+        try {
+            sha = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (InputStream in = new DigestInputStream(Files.newInputStream(arquivo), sha)) {
+            byte[] buffer = new byte[64 * 1024];
+            while (in.read(buffer) != -1) {
+                // Só alimenta o digest
+            }
+        }
+        return HexFormat.of().formatHex(sha.digest());
+    }
+
+    private void carregarHashes() {
+        if (!ARQUIVO_HASHES.isFile()) return;
+        try {
+            for (String linha : Files.readAllLines(ARQUIVO_HASHES.toPath(), StandardCharsets.UTF_8)) {
+                int fim = linha.indexOf(';');
+                if (fim > 0) hashesImportados.add(linha.substring(0, fim));
+            }
+            System.out.println("Monitor: " + hashesImportados.size() + " arquivos já importados.");
+        } catch (IOException e) {
+            System.err.println("ERRO ao ler " + ARQUIVO_HASHES.getName() + ": " + e.getMessage());
+        }
+    }
+
+    private void marcarImportado(String hash, String nomeArquivo) {
+        hashesImportados.add(hash);
+        String linha = hash + ";" + nomeArquivo + ";" + LocalDateTime.now() + System.lineSeparator();
+        try {
+            Files.writeString(ARQUIVO_HASHES.toPath(), linha, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            System.err.println("ERRO ao gravar " + ARQUIVO_HASHES.getName() + ": " + e.getMessage());
+        }
+    }
+}
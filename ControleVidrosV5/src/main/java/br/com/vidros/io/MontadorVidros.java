@@ -0,0 +1,207 @@
+package br.com.vidros.io;
+
+import br.com.vidros.modelo.PoolStrings;
+import br.com.vidros.modelo.Vidro;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+// Monta a lista de vidros a partir das linhas da planilha, qualquer que seja o leitor.
+// Descobre os índices das colunas lendo o cabeçalho e depois converte cada linha de dados.
+class MontadorVidros {
+
+    private final String nomeObra;
+    private final String listaOrigem;
+    private final List<Vidro> listaVidros = new ArrayList<>();
+    private final PoolStrings textos = new PoolStrings();   // Textos repetidos desta importação
+    private final MapeadorCabecalho mapeador = MapeadorCabecalho.padrao();
+    private final RelatorioImportacao relatorio;
+
+    // Variáveis para guardar os índices das colunas descobertos
+    private int idxPosicao = -1;
+    private int idxTipo = -1;
+    private int idxEspecificacao = -1;
+    private int idxLargura = -1;
+    private int idxAltura = -1;
+    private int idxQuantidade = -1;
+
+    private boolean cabecalhoEncontrado = false;
+    private int numeroLinha = 0;
+
+    // Acompanhamento e cancelamento (opcionais)
+    private final OuvinteProgresso ouvinte;
+    private final CancelamentoImportacao cancelamento;
+    private long tamanhoLeitura = 0;            // Total do arquivo na unidade do leitor (bytes ou linhas)
+    private LongSupplier posicaoLeitura = null;
+
+    // Avisa o ouvinte a cada tantas linhas
+    private static final int INTERVALO_PROGRESSO = 1024;
+
+    MontadorVidros(String nomeObra, String listaOrigem) {
+        this("", nomeObra, listaOrigem, null, null);
+    }
+
+    MontadorVidros(String arquivo, String nomeObra, String listaOrigem,
+                   OuvinteProgresso ouvinte, CancelamentoImportacao cancelamento) {
+        // Obra e Lista se repetem em todas as linhas: uma única instância para a lista inteira
+        this.nomeObra = textos.canonico(nomeObra);
+        this.listaOrigem = textos.canonico(listaOrigem);
+        this.ouvinte = ouvinte;
+        this.cancelamento = cancelamento;
+        this.relatorio = new RelatorioImportacao(arquivo, nomeObra, listaOrigem);
+    }
+
+    RelatorioImportacao getRelatorio() {
+        return relatorio;
+    }
+
+    // Chamado pelo leitor: quanto o arquivo tem e como saber quanto já foi lido
+    void acompanharLeitura(long tamanho, LongSupplier posicao) {
+        this.tamanhoLeitura = tamanho;
+        this.posicaoLeitura = posicao;
+    }
+
+    void processarLinha(LinhaPlanilha linha) {
+        numeroLinha++;
+        if (cancelamento != null) cancelamento.verificar();
+        if (ouvinte != null && numeroLinha % INTERVALO_PROGRESSO == 0) avisarProgresso(percentualLido());
+
+        // Linha como aparece na planilha (o leitor informa; senão, a contagem das linhas entregues)
+        int linhaPlanilha = (linha.getNumero() > 0) ? linha.getNumero() : numeroLinha;
+        relatorio.linhaLida(!cabecalhoEncontrado);
+
+        // 1. Tenta encontrar a linha de Cabeçalho
+        if (!cabecalhoEncontrado) {
+            lerCabecalho(linha, linhaPlanilha);
+            return;
+        }
+
+        // 2. Processa as linhas de Dados
+        try {
+            // Verifica se a linha tem dados suficientes
+            if (idxQuantidade == -1 || idxLargura == -1) return;
+
+            String posicao = (idxPosicao != -1) ? linha.texto(idxPosicao) : "N/A";
+            String tipologia = (idxTipo != -1) ? linha.texto(idxTipo) : "";
+            String especificacao = (idxEspecificacao != -1) ? linha.texto(idxEspecificacao) : "";
+
+            int larguraMM = linha.inteiro(idxLargura);
+            int alturaMM = linha.inteiro(idxAltura);
+            int quantidade = linha.inteiro(idxQuantidade);
+
+            // Ignora linha se quantidade for zero ou posição vazia
+            if (quantidade <= 0 && larguraMM <= 0) {
+                if (linha.vazia()) {
+                    relatorio.registrar(linhaPlanilha, RelatorioImportacao.Ocorrencia.LINHA_VAZIA, null);
+                } else {
+                    relatorio.registrar(linhaPlanilha, RelatorioImportacao.Ocorrencia.SEM_QUANTIDADE_E_LARGURA,
+                            conteudo(linha));
+                }
+                return;
+            }
+
+            // Se não tiver posição, usa um placeholder
+            if (posicao.isEmpty()) posicao = "S/N";
+
+            // Compartilha os textos repetidos com as outras linhas da planilha
+            posicao = textos.canonico(posicao);
+            tipologia = textos.canonico(tipologia);
+            especificacao = textos.canonico(especificacao);
+
+            Vidro vidro = new Vidro(
+                    nomeObra,
+                    listaOrigem,
+                    posicao,
+                    tipologia,
+                    especificacao,
+                    larguraMM,
+                    alturaMM,
+                    quantidade
+            );
+
+            listaVidros.add(vidro);
+
+            // Aceitas, mas provavelmente com erro na lista
+            if (quantidade <= 0) {
+                relatorio.registrar(linhaPlanilha, RelatorioImportacao.Ocorrencia.QUANTIDADE_ZERO, conteudo(linha));
+            } else if (larguraMM <= 0 || alturaMM <= 0) {
+                relatorio.registrar(linhaPlanilha, RelatorioImportacao.Ocorrencia.MEDIDA_ZERO, conteudo(linha));
+            }
+        } catch (Exception e) {
+            // Não interrompe a importação: fica no relatório com a linha e o erro
+            relatorio.registrar(linhaPlanilha, RelatorioImportacao.Ocorrencia.ERRO_LEITURA, e.toString());
+        }
+    }
+
+    List<Vidro> concluir() {
+        if (ouvinte != null) avisarProgresso(100);
+        relatorio.concluir(listaVidros);
+
+        if (listaVidros.isEmpty()) {
+            System.err.println("AVISO: Nenhuma linha válida importada. Verifique se os nomes das colunas" +
+                    "(Largura, Altura, Quant.) estão corretos no Excel.");
+        } else {
+            System.out.println("Importação finalizada. Total: " + listaVidros.size() + " itens.");
+        }
+        if (relatorio.getLinhasDescartadas() > 0) {
+            System.err.println("AVISO: " + relatorio.getLinhasDescartadas() + " linhas descartadas (ver relatório da importação).");
+        }
+        return listaVidros;
+    }
+
+    // Textos da linha, para identificar no relatório o que foi descartado
+    private static String conteudo(LinhaPlanilha linha) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < linha.getQuantidadeCelulas() && sb.length() < 120; i++) {
+            String texto = linha.texto(linha.getColuna(i));
+            if (texto.isEmpty()) continue;
+            if (sb.length() > 0) sb.append(" | ");
+            sb.append(texto.replace('\n', ' ').replace('\r', ' '));
+        }
+        return (sb.length() > 120) ? sb.substring(0, 120) + "..." : sb.toString();
+    }
+
+    int getLinhasLidas() {
+        return numeroLinha;
+    }
+
+    private void avisarProgresso(int percentual) {
+        ouvinte.progresso(numeroLinha, listaVidros.size(), percentual);
+    }
+
+    private int percentualLido() {
+        if (posicaoLeitura == null || tamanhoLeitura <= 0) return 0;
+        return (int) Math.min(99, posicaoLeitura.getAsLong() * 100 / tamanhoLeitura);
+    }
+
+    private void lerCabecalho(LinhaPlanilha linha, int linhaPlanilha) {
+        for (int i = 0; i < linha.getQuantidadeCelulas(); i++) {
+            int coluna = linha.getColuna(i);
+
+            // Mapeia as colunas baseadas em palavras-chave (tabela de sinônimos, sem acentos)
+            String texto = linha.texto(coluna);
+            MapeadorCabecalho.Campo campo = mapeador.identificar(texto);
+            if (campo == null) continue;
+            relatorio.mapear(campo, coluna, texto);
+
+            switch (campo) {
+                case POSICAO -> idxPosicao = coluna;
+                case TIPOLOGIA -> idxTipo = coluna;
+                case ESPECIFICACAO -> idxEspecificacao = coluna;
+                case LARGURA -> idxLargura = coluna;
+                case ALTURA -> idxAltura = coluna;
+                case QUANTIDADE -> idxQuantidade = coluna;
+            }
+        }
+
+        // Se encontrar as colunas essenciais, marca como achado
+        if (idxLargura != -1 && idxAltura != -1 && idxQuantidade != -1) {
+            cabecalhoEncontrado = true;
+            relatorio.cabecalhoEncontrado(linhaPlanilha);
+            System.out.println("Cabeçalho encontrado na linha " + numeroLinha);
+            System.out.println("Mapeamento: Largura=" + idxLargura + ", Altura=" + idxAltura +
+                    ", Quantidade=" + idxQuantidade);
+        }
+    }
+}
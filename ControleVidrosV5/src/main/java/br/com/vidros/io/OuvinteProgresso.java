@@ -0,0 +1,11 @@
+package br.com.vidros.io;
+
+// Acompanhamento da importação de uma lista, chamado na thread que está lendo o arquivo
+// (a interface deve repassar para a thread do Swing).
+@FunctionalInterface
+public interface OuvinteProgresso {
+
+    // linhasLidas: linhas da planilha já processadas; itens: vidros aceitos até agora;
+    // percentual: 0 a 100 pelo quanto do arquivo já foi lido
+    void progresso(int linhasLidas, int itens, int percentual);
+}
@@ -0,0 +1,232 @@
+package br.com.vidros.io;
+
+import br.com.vidros.modelo.Vidro;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// Diagnóstico de uma importação: o que foi lido, aceito e descartado (com o motivo e a linha da planilha),
+// o cabeçalho encontrado, o mapeamento das colunas e o tempo de cada fase.
+// Preenchido pelo MontadorVidros com contadores; só os descartes com conteúdo guardam detalhe.
+public class RelatorioImportacao {
+
+    // O que aconteceu com uma linha de dados (depois do cabeçalho)
+    public enum Ocorrencia {
+        LINHA_VAZIA("linha vazia", true),
+        SEM_QUANTIDADE_E_LARGURA("sem quantidade e largura", true),
+        ERRO_LEITURA("erro de leitura", true),
+        QUANTIDADE_ZERO("aceita com quantidade zero", false),
+        MEDIDA_ZERO("aceita com largura ou altura zero", false);
+
+        private final String descricao;
+        private final boolean descarta;
+
+        Ocorrencia(String descricao, boolean descarta) {
+            this.descricao = descricao;
+            this.descarta = descarta;
+        }
+
+        public String getDescricao() { return descricao; }
+
+        public boolean isDescarte() { return descarta; }
+    }
+
+    // Linha da planilha com ocorrência
+    public static class Detalhe {
+        private final int linha;
+        private final Ocorrencia ocorrencia;
+        private final String texto;
+
+        Detalhe(int linha, Ocorrencia ocorrencia, String texto) {
+            this.linha = linha;
+            this.ocorrencia = ocorrencia;
+            this.texto = texto;
+        }
+
+        public int getLinha() { return linha; }
+
+        public Ocorrencia getOcorrencia() { return ocorrencia; }
+
+        public String getTexto() { return texto; }
+    }
+
+    // Detalhes guardados por importação (os contadores continuam exatos depois disso)
+    private static final int MAXIMO_DETALHES = 1000;
+
+    private final String arquivo;
+    private final String nomeObra;
+    private final String listaOrigem;
+    private String leitor = "";
+    private String erro;
+
+    private int linhasLidas = 0;
+    private int linhasAntesCabecalho = 0;
+    private int linhaCabecalho = -1;
+    private final Map<MapeadorCabecalho.Campo, String> mapeamento = new EnumMap<>(MapeadorCabecalho.Campo.class);
+
+    private final int[] contagem = new int[Ocorrencia.values().length];
+    private final List<Detalhe> detalhes = new ArrayList<>();
+    private List<Vidro> vidros = List.of();
+
+    // Tempos das fases (System.nanoTime)
+    private final long inicio = System.nanoTime();
+    private long primeiraLinha;
+    private long cabecalho;
+    private long fim;
+
+    RelatorioImportacao(String arquivo, String nomeObra, String listaOrigem) {
+        this.arquivo = arquivo;
+        this.nomeObra = nomeObra;
+        this.listaOrigem = listaOrigem;
+    }
+
+    // Funções de Coleta (chamadas pelo leitor e pelo MontadorVidros)
+
+    void setLeitor(String leitor) {
+        this.leitor = leitor;
+    }
+
+    void setErro(String erro) {
+        this.erro = erro;
+    }
+
+    void linhaLida(boolean antesDoCabecalho) {
+        if (linhasLidas++ == 0) primeiraLinha = System.nanoTime();
+        if (antesDoCabecalho) linhasAntesCabecalho++;
+    }
+
+    void cabecalhoEncontrado(int linha) {
+        linhasAntesCabecalho--;     // A própria linha do cabeçalho já foi contada
+        linhaCabecalho = linha;
+        cabecalho = System.nanoTime();
+    }
+
+    void mapear(MapeadorCabecalho.Campo campo, int coluna, String textoCabecalho) {
+        mapeamento.put(campo, nomeColuna(coluna) + " (\"" + textoCabecalho + "\")");
+    }
+
+    void registrar(int linha, Ocorrencia ocorrencia, String texto) {
+        contagem[ocorrencia.ordinal()]++;
+        if (texto != null && detalhes.size() < MAXIMO_DETALHES) {
+            detalhes.add(new Detalhe(linha, ocorrencia, texto));
+        }
+    }
+
+    void concluir(List<Vidro> vidros) {
+        this.vidros = vidros;
+        fim = System.nanoTime();
+    }
+
+    // Getters
+
+    public String getArquivo() { return arquivo; }
+
+    public List<Vidro> getVidros() { return vidros; }
+
+    public String getErro() { return erro; }
+
+    public int getLinhasLidas() { return linhasLidas; }
+
+    public int getLinhaCabecalho() { return linhaCabecalho; }
+
+    public int getItensAceitos() { return vidros.size(); }
+
+    public int getQuantidade(Ocorrencia ocorrencia) { return contagem[ocorrencia.ordinal()]; }
+
+    public List<Detalhe> getDetalhes() { return detalhes; }
+
+    // Linhas de dados descartadas, sem contar as vazias
+    public int getLinhasDescartadas() {
+        int total = 0;
+        for (Ocorrencia o : Ocorrencia.values()) {
+            if (o.isDescarte() && o != Ocorrencia.LINHA_VAZIA) total += contagem[o.ordinal()];
+        }
+        return total;
+    }
+
+    public long getTempoTotalMs() {
+        return (fim - inicio) / 1_000_000;
+    }
+
+    // Texto para mostrar ao usuário e para exportar
+    public String texto() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Arquivo: ").append(arquivo);
+        if (!leitor.isEmpty()) sb.append(" (").append(leitor).append(")");
+        sb.append("\nObra ").append(nomeObra).append(" / Lista ").append(listaOrigem).append("\n");
+        if (erro != null) sb.append("ERRO: ").append(erro).append("\n");
+
+        sb.append("\nLinhas lidas: ").append(linhasLidas).append("\n");
+        if (linhaCabecalho == -1) {
+            sb.append("Cabeçalho: NÃO ENCONTRADO (colunas Largura, Altura e Quant. são obrigatórias)\n");
+        } else {
+            sb.append("Cabeçalho: linha ").append(linhaCabecalho)
+                    .append(" (").append(linhasAntesCabecalho).append(" linhas antes dele)\n");
+        }
+        sb.append("Colunas:\n");
+        for (MapeadorCabecalho.Campo campo : MapeadorCabecalho.Campo.values()) {
+            String coluna = mapeamento.get(campo);
+            sb.append("  ").append(campo.name()).append(": ").append(coluna != null ? coluna : "não encontrada").append("\n");
+        }
+
+        sb.append("\nItens aceitos: ").append(vidros.size()).append("\n");
+        sb.append("Linhas descartadas: ").append(getLinhasDescartadas()).append("\n");
+        for (Ocorrencia o : Ocorrencia.values()) {
+            if (o.isDescarte() && contagem[o.ordinal()] > 0) {
+                sb.append("  ").append(o.getDescricao()).append(": ").append(contagem[o.ordinal()]).append("\n");
+            }
+        }
+        for (Ocorrencia o : Ocorrencia.values()) {
+            if (!o.isDescarte() && contagem[o.ordinal()] > 0) {
+                sb.append("Aviso - ").append(o.getDescricao()).append(": ").append(contagem[o.ordinal()]).append("\n");
+            }
+        }
+
+        sb.append("\nTempos: abertura ").append(ms(inicio, primeiraLinha))
+                .append(" | até o cabeçalho ").append(ms(primeiraLinha, cabecalho))
+                .append(" | dados ").append(ms(linhaCabecalho == -1 ? primeiraLinha : cabecalho, fim))
+                .append(" | total ").append(ms(inicio, fim)).append("\n");
+
+        if (!detalhes.isEmpty()) {
+            sb.append("\nOcorrências:\n");
+            for (Detalhe d : detalhes) {
+                sb.append("Linha ").append(d.getLinha()).append(": ").append(d.getOcorrencia().getDescricao())
+                        .append(" - ").append(d.getTexto()).append("\n");
+            }
+            int registradas = 0;
+            for (Ocorrencia o : Ocorrencia.values()) {
+                if (o != Ocorrencia.LINHA_VAZIA) registradas += contagem[o.ordinal()];
+            }
+            if (registradas > detalhes.size()) {
+                sb.append("... e mais ").append(registradas - detalhes.size()).append(" ocorrências\n");
+            }
+        }
+        return sb.toString();
+    }
+
+    public void exportar(File destino) throws IOException {
+        Files.writeString(destino.toPath(), texto(), StandardCharsets.UTF_8);
+    }
+
+    // Funções Auxiliares
+
+    private static String ms(long de, long ate) {
+        if (de == 0 || ate == 0) return "-";
+        return ((ate - de) / 1_000_000) + " ms";
+    }
+
+    // 0 -> "A", 25 -> "Z", 26 -> "AA"
+    private static String nomeColuna(int coluna) {
+        StringBuilder sb = new StringBuilder();
+        for (int n = coluna + 1; n > 0; n = (n - 1) / 26) {
+            sb.insert(0, (char) ('A' + (n - 1) % 26));
+        }
+        return sb.toString();
+    }
+}
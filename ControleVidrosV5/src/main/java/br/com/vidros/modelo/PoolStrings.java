@@ -0,0 +1,79 @@
+package br.com.vidros.modelo;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Pool de textos canônicos: obra, lista, tipologia e especificação se repetem em milhares de vidros,
+// então cada valor igual passa a apontar para uma única instância de String.
+// Um pool por importação de planilha ou por carga do arquivo de dados: terminada a operação ele é
+// descartado (ou limpo) e os textos ficam presos só pelos vidros que os usam. Não é compartilhado entre threads.
+public final class PoolStrings {
+
+    private final Map<String, String> textos = new HashMap<>();
+
+    // Estatísticas para o relatório de memória
+    private long consultas = 0;
+    private long reaproveitadas = 0;
+    private long bytesEconomizados = 0;
+
+    // Retorna a instância canônica do texto (a primeira vista com esse conteúdo)
+    public String canonico(String texto) {
+        if (texto == null) return null;
+        consultas++;
+
+        String existente = textos.putIfAbsent(texto, texto);
+        if (existente == null) {
+            return texto;
+        }
+        if (existente != texto) {
+            reaproveitadas++;
+            bytesEconomizados += tamanhoEstimado(texto);
+        }
+        return existente;
+    }
+
+    // Solta os textos e zera as estatísticas (fim da operação)
+    public void limpar() {
+        textos.clear();
+        consultas = 0;
+        reaproveitadas = 0;
+        bytesEconomizados = 0;
+    }
+
+    public int getTextosDistintos() {
+        return textos.size();
+    }
+
+    public long getBytesEconomizados() {
+        return bytesEconomizados;
+    }
+
+    // Ex.: "Pool de textos: 48.210 consultas, 212 textos distintos, 47.998 cópias evitadas (~3,1 MB)"
+    public String relatorio() {
+        return String.format("Pool de textos: %,d consultas, %,d textos distintos, %,d cópias evitadas (~%s)",
+                consultas, textos.size(), reaproveitadas, formatarBytes(bytesEconomizados));
+    }
+
+    // Funções Auxiliares
+
+    // Memória de uma String na JVM de 64 bits com compressed oops:
+    // objeto String (24 bytes) + array (16 bytes de cabeçalho + conteúdo, alinhado em 8).
+    // Textos só com Latin-1 usam 1 byte por caractere (compact strings), os demais 2 bytes.
+    private static long tamanhoEstimado(String texto) {
+        int bytesPorCaractere = 1;
+        for (int i = 0; i < texto.length(); i++) {
+            if (texto.charAt(i) > 0xFF) {
+                bytesPorCaractere = 2;
+                break;
+            }
+        }
+        long array = 16L + (long) texto.length() * bytesPorCaractere;
+        return 24 + ((array + 7) & ~7L);
+    }
+
+    private static String formatarBytes(long bytes) {
+        if (bytes < 1024) return bytes + " bytes";
+        if (bytes < 1024 * 1024) return String.format("%.1f KB", bytes / 1024.0);
+        return String.format("%.1f MB", bytes / (1024.0 * 1024.0));
+    }
+}
@@ -0,0 +1,33 @@
+package br.com.vidros.modelo;
+
+// Situação do vidro, na ordem de prioridade usada no cálculo.
+// O texto exibido (com a quantidade entre parênteses) só é montado na hora de mostrar.
+public enum StatusVidro {
+
+    ENTREGUE_NA_OBRA("ENTREGUE NA OBRA"),
+    EM_REPOSICAO("EM REPOSIÇÃO"),               // Detalhe: quantidade em reposição
+    ENVIADO_PARCIAL("ENVIADO PARCIAL"),         // Detalhe: quantidade enviada (de quantidadeTotal)
+    PRONTO_PARA_ENVIO("PRONTO P/ ENVIO"),
+    PRONTO_PARA_CORTE("PRONTO P/ CORTE"),
+    FALTA_MATERIAL("FALTA MATERIAL"),           // Detalhe: quantidade que falta chegar
+    AGUARDANDO_FORNECEDOR("AGUARDANDO FORNECEDOR");
+
+    private final String rotulo;
+
+    StatusVidro(String rotulo) {
+        this.rotulo = rotulo;
+    }
+
+    public String getRotulo() {
+        return rotulo;
+    }
+
+    // Texto completo, ex.: "ENVIADO PARCIAL (3/6)"
+    public String formatar(int detalhe, int quantidadeTotal) {
+        return switch (this) {
+            case EM_REPOSICAO, FALTA_MATERIAL -> rotulo + " (" + detalhe + ")";
+            case ENVIADO_PARCIAL -> rotulo + " (" + detalhe + "/" + quantidadeTotal + ")";
+            default -> rotulo;
+        };
+    }
+}
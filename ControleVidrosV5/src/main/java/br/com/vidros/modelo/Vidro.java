@@ -1,6 +1,7 @@
 package br.com.vidros.modelo;
 
 import java.io.Serializable;
+import java.util.Locale;
 
 public class Vidro implements Serializable {
 
@@ -8,6 +9,7 @@ public class Vidro implements Serializable {
     private String nomeObra;
     private String listaOrigem;
     private String idItemUnico;
+    private transient long hashId; // Hash de 64 bits do ID (chave primitiva do índice)
 
     // === 2. Especificações (Dados da Lista) ===
 
@@ -35,7 +37,8 @@ public class Vidro implements Serializable {
     private int qtdEnviada;
 
     // D. Status Calculado
-    private String statusGeral; // PENDENTE, EM FALTA, COMPLETO, EM CORTE
+    private StatusVidro status;
+    private int detalheStatus;  // Quantidade exibida junto com o status (ex.: reposição, falta)
 
 
     // Constructor Geral
@@ -56,9 +59,54 @@ public class Vidro implements Serializable {
         this.qtdEnviada = 0;
 
         this.idItemUnico = gerarIdUnico();
+        this.hashId = hashId(idItemUnico);
         calcularStatus();
     }
 
+    // Constructor de Restauração (dados já salvos, com as quantidades movimentadas)
+    public Vidro(String nomeObra, String listaOrigem, String idItemUnico, String posicao,
+                 String tipologia, String especificacao, int larguraMM, int alturaMM, int quantidadeTotal,
+                 int qtdChegouFabrica, int qtdCortada, int qtdReposicao, int qtdEnviada) {
+        this.nomeObra = nomeObra;
+        this.listaOrigem = listaOrigem;
+        this.posicao = posicao;
+        this.tipologia = tipologia;
+        this.especificacao = especificacao;
+        this.larguraMM = larguraMM;
+        this.alturaMM = alturaMM;
+        this.quantidadeTotal = quantidadeTotal;
+
+        this.qtdChegouFabrica = qtdChegouFabrica;
+        this.qtdCortada = qtdCortada;
+        this.qtdReposicao = qtdReposicao;
+        this.qtdEnviada = qtdEnviada;
+
+        // Mantém o ID salvo (arquivos antigos podem não ter o campo)
+        this.idItemUnico = (idItemUnico != null) ? idItemUnico : gerarIdUnico();
+        this.hashId = hashId(this.idItemUnico);
+        calcularStatus();
+    }
+
+    // Constructor de Cópia (fotografia do estado para gravação em segundo plano)
+    public Vidro(Vidro outro) {
+        this.nomeObra = outro.nomeObra;
+        this.listaOrigem = outro.listaOrigem;
+        this.idItemUnico = outro.idItemUnico;
+        this.hashId = outro.hashId;
+        this.posicao = outro.posicao;
+        this.tipologia = outro.tipologia;
+        this.especificacao = outro.especificacao;
+        this.larguraMM = outro.larguraMM;
+        this.alturaMM = outro.alturaMM;
+        this.quantidadeTotal = outro.quantidadeTotal;
+        this.qtdChegouFabrica = outro.qtdChegouFabrica;
+        this.qtdCortada = outro.qtdCortada;
+        this.qtdReposicao = outro.qtdReposicao;
+        this.qtdEnviada = outro.qtdEnviada;
+        this.status = outro.status;
+        this.detalheStatus = outro.detalheStatus;
+    }
+
     // Getters
     public String getNomeObra() {
         return nomeObra;
@@ -72,6 +120,10 @@ public class Vidro implements Serializable {
         return idItemUnico;
     }
 
+    public long getHashId() {
+        return hashId;
+    }
+
     public String getPosicao() {
         return posicao;
     }
@@ -106,8 +158,17 @@ public class Vidro implements Serializable {
 
     public int getQtdEnviada() {return qtdEnviada;}
 
+    public StatusVidro getStatus() {
+        return status;
+    }
+
+    public int getDetalheStatus() {
+        return detalheStatus;
+    }
+
+    // Texto do status, montado apenas quando for exibido
     public String getStatusGeral() {
-        return statusGeral;
+        return status.formatar(detalheStatus, quantidadeTotal);
     }
 
     // Setters
@@ -126,35 +187,93 @@ public class Vidro implements Serializable {
     // Função para definir Status
     public void calcularStatus() {
         // Ordem de prioridade do Status
+        this.detalheStatus = 0;
         if (qtdEnviada >= quantidadeTotal) {
-            this.statusGeral = "ENTREGUE NA OBRA";
+            this.status = StatusVidro.ENTREGUE_NA_OBRA;
         } else if (qtdReposicao > 0) {
-            this.statusGeral = "EM REPOSIÇÃO (" + qtdReposicao + ")";
+            this.status = StatusVidro.EM_REPOSICAO;
+            this.detalheStatus = qtdReposicao;
         } else if (qtdEnviada > 0) {
-            this.statusGeral = "ENVIADO PARCIAL (" + qtdEnviada + "/" + quantidadeTotal + ")";
+            this.status = StatusVidro.ENVIADO_PARCIAL;
+            this.detalheStatus = qtdEnviada;
         } else if (qtdCortada >= quantidadeTotal) {
-            this.statusGeral = "PRONTO P/ ENVIO";
+            this.status = StatusVidro.PRONTO_PARA_ENVIO;
         } else if (qtdChegouFabrica >= quantidadeTotal) {
-            this.statusGeral = "PRONTO P/ CORTE";
+            this.status = StatusVidro.PRONTO_PARA_CORTE;
         } else if (qtdChegouFabrica > 0) {
-            this.statusGeral = "FALTA MATERIAL (" + (quantidadeTotal - qtdChegouFabrica) + ")";
+            this.status = StatusVidro.FALTA_MATERIAL;
+            this.detalheStatus = quantidadeTotal - qtdChegouFabrica;
         } else {
-            this.statusGeral = "AGUARDANDO FORNECEDOR";
+            this.status = StatusVidro.AGUARDANDO_FORNECEDOR;
         }
     }
 
+    // Buffer reaproveitado na montagem do ID (um por thread, por causa das importações em paralelo)
+    private static final ThreadLocal<StringBuilder> BUFFER_ID = ThreadLocal.withInitial(() -> new StringBuilder(64));
+
     // Função para definir o ID ÚNICO
+    // Mesmo resultado de (obra-lista-posição-tipologia-LxA).replaceAll("\\s+", "").toUpperCase(),
+    // mas em uma única passada, sem regex e sem Strings intermediárias.
     public String gerarIdUnico() {
-        String idBase = nomeObra + "-" + listaOrigem + "-" + posicao + "-" + tipologia + "-" + larguraMM +
-                "x" + alturaMM;
-        // Remove espaços e deixa tudo maiúsculo
-        return idBase.replaceAll("\\s+", "").toUpperCase();
+        StringBuilder sb = BUFFER_ID.get();
+        sb.setLength(0);
+
+        // Em idiomas com regras especiais de maiúsculas (ex.: turco), deixa o toUpperCase() decidir
+        String idioma = Locale.getDefault().getLanguage();
+        boolean maiusculasAscii = !(idioma.equals("tr") || idioma.equals("az") || idioma.equals("lt"));
+
+        boolean precisaToUpperCase = !maiusculasAscii;
+        precisaToUpperCase |= anexarSemEspacos(sb, nomeObra, maiusculasAscii);
+        sb.append('-');
+        precisaToUpperCase |= anexarSemEspacos(sb, listaOrigem, maiusculasAscii);
+        sb.append('-');
+        precisaToUpperCase |= anexarSemEspacos(sb, posicao, maiusculasAscii);
+        sb.append('-');
+        precisaToUpperCase |= anexarSemEspacos(sb, tipologia, maiusculasAscii);
+        sb.append('-').append(larguraMM).append('X').append(alturaMM);
+
+        String id = sb.toString();
+        return precisaToUpperCase ? id.toUpperCase() : id;
+    }
+
+    // Copia o texto sem espaços (mesmos caracteres do \s da regex) e com letras ASCII em maiúsculas.
+    // Retorna true se encontrou caracteres fora do ASCII, que ficam para o toUpperCase().
+    private static boolean anexarSemEspacos(StringBuilder sb, String texto, boolean maiusculasAscii) {
+        if (texto == null) {
+            sb.append("NULL"); // Mesmo resultado da concatenação de um campo nulo
+            return false;
+        }
+        boolean foraDoAscii = false;
+        for (int i = 0, n = texto.length(); i < n; i++) {
+            char c = texto.charAt(i);
+            switch (c) {
+                case ' ', '\t', '\n', '\u000B', '\f', '\r' -> { continue; }
+                default -> { }
+            }
+            if (c >= 'a' && c <= 'z' && maiusculasAscii) {
+                c = (char) (c - ('a' - 'A'));
+            } else if (c >= 0x80) {
+                foraDoAscii = true;
+            }
+            sb.append(c);
+        }
+        return foraDoAscii;
+    }
+
+    // Hash FNV-1a de 64 bits do ID, usado como chave primitiva no índice do gerenciador
+    public static long hashId(String id) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0, n = id.length(); i < n; i++) {
+            hash ^= id.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
     }
 
     // Metódo para exibir as especificações do vidro
     @Override
     public String toString() {
         return String.format("Obra: %s | Lista: %s | Posição: %s | Especificação: %s | Status: %s", nomeObra,
-                listaOrigem, posicao, especificacao, statusGeral);
+                listaOrigem, posicao, especificacao, getStatusGeral());
     }
 }
@@ -0,0 +1,76 @@
+package br.com.vidros.persistencia;
+
+import br.com.vidros.modelo.PoolStrings;
+import br.com.vidros.modelo.Vidro;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Formatos disponíveis para o snapshot do controle.
+// O formato é escolhido pela propriedade de sistema "vidros.snapshot" (json | binario).
+public enum FormatoSnapshot {
+
+    JSON("controle_vidros.json") {
+        @Override
+        public long ler(File arquivo, PoolStrings textos, Consumer<Vidro> consumidor) throws IOException {
+            return SnapshotJson.ler(arquivo, textos, consumidor);
+        }
+
+        @Override
+        public long lerSeq(File arquivo) throws IOException {
+            return SnapshotJson.lerSeq(arquivo);
+        }
+
+        @Override
+        public void gravar(FileChannel canal, long ultimoSeq, List<Vidro> vidros) throws IOException {
+            SnapshotJson.gravar(canal, ultimoSeq, vidros);
+        }
+    },
+
+    BINARIO("controle_vidros.bin") {
+        @Override
+        public long ler(File arquivo, PoolStrings textos, Consumer<Vidro> consumidor) throws IOException {
+            return SnapshotBinario.ler(arquivo, textos, consumidor);
+        }
+
+        @Override
+        public long lerSeq(File arquivo) throws IOException {
+            return SnapshotBinario.lerSeq(arquivo);
+        }
+
+        @Override
+        public void gravar(FileChannel canal, long ultimoSeq, List<Vidro> vidros) throws IOException {
+            SnapshotBinario.gravar(canal, ultimoSeq, vidros);
+        }
+    };
+
+    private final String nomeArquivo;
+
+    FormatoSnapshot(String nomeArquivo) {
+        this.nomeArquivo = nomeArquivo;
+    }
+
+    public String getNomeArquivo() {
+        return nomeArquivo;
+    }
+
+    // Os textos repetidos dos vidros lidos são compartilhados pelo pool informado
+    public abstract long ler(File arquivo, PoolStrings textos, Consumer<Vidro> consumidor) throws IOException;
+
+    public long ler(File arquivo, Consumer<Vidro> consumidor) throws IOException {
+        return ler(arquivo, new PoolStrings(), consumidor);
+    }
+
+    // Sequência do journal consolidada no arquivo, sem carregar os vidros
+    public abstract long lerSeq(File arquivo) throws IOException;
+
+    public abstract void gravar(FileChannel canal, long ultimoSeq, List<Vidro> vidros) throws IOException;
+
+    public static FormatoSnapshot configurado() {
+        String valor = System.getProperty("vidros.snapshot", "json");
+        return valor.equalsIgnoreCase("binario") ? BINARIO : JSON;
+    }
+}
@@ -0,0 +1,86 @@
+package br.com.vidros.persistencia;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+// Gravação à prova de queda: escreve em um arquivo temporário, força para o disco
+// e só então troca pelo arquivo final com um rename atômico.
+// As versões anteriores são mantidas como gerações ("<arquivo>.1" é a mais recente).
+public class GravacaoAtomica {
+
+    @FunctionalInterface
+    public interface EscritaCanal {
+        void escrever(FileChannel canal) throws IOException;
+    }
+
+    public static void gravar(File destino, int geracoes, EscritaCanal escrita) throws IOException {
+        Path arquivoFinal = destino.toPath().toAbsolutePath();
+        Path temporario = arquivoFinal.resolveSibling(destino.getName() + ".tmp");
+
+        // 1. Conteúdo completo no temporário, já no disco
+        try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            escrita.escrever(canal);
+            canal.force(true);
+        }
+
+        // 2. Roda as gerações: .N-1 -> .N, ..., e o atual ganha uma cópia em .1.
+        //    O atual não sai do lugar: uma queda em qualquer ponto deixa um arquivo final válido.
+        if (geracoes > 0 && Files.exists(arquivoFinal)) {
+            Files.deleteIfExists(geracao(arquivoFinal, geracoes));
+            for (int i = geracoes - 1; i >= 1; i--) {
+                Path origem = geracao(arquivoFinal, i);
+                if (Files.exists(origem)) {
+                    Files.move(origem, geracao(arquivoFinal, i + 1), StandardCopyOption.ATOMIC_MOVE);
+                }
+            }
+            copiarParaGeracao(arquivoFinal, geracao(arquivoFinal, 1));
+        }
+
+        // 3. Publica o novo arquivo de uma vez só (substitui o atual no mesmo rename)
+        Files.move(temporario, arquivoFinal, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        sincronizarPasta(arquivoFinal.getParent());
+    }
+
+    // Arquivo atual seguido das gerações existentes, da mais nova para a mais antiga
+    public static List<File> geracoesExistentes(File destino, int geracoes) {
+        List<File> arquivos = new ArrayList<>();
+        Path arquivoFinal = destino.toPath().toAbsolutePath();
+        if (Files.exists(arquivoFinal)) arquivos.add(arquivoFinal.toFile());
+        for (int i = 1; i <= geracoes; i++) {
+            Path p = geracao(arquivoFinal, i);
+            if (Files.exists(p)) arquivos.add(p.toFile());
+        }
+        return arquivos;
+    }
+
+    private static Path geracao(Path arquivo, int numero) {
+        return arquivo.resolveSibling(arquivo.getFileName() + "." + numero);
+    }
+
+    // Hard link (sem copiar os dados); cópia comum onde o sistema de arquivos não suporta links
+    private static void copiarParaGeracao(Path arquivo, Path destino) throws IOException {
+        Files.deleteIfExists(destino);
+        try {
+            Files.createLink(destino, arquivo);
+        } catch (IOException | UnsupportedOperationException e) {
+            Files.copy(arquivo, destino, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // Garante que os renames também estão no disco (não suportado em alguns sistemas, como o Windows)
+    private static void sincronizarPasta(Path pasta) {
+        try (FileChannel canal = FileChannel.open(pasta, StandardOpenOption.READ)) {
+            canal.force(true);
+        } catch (IOException e) {
+            // Sem suporte para abrir diretórios: o rename atômico continua valendo
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package br.com.vidros.persistencia;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+// Journal append-only das movimentações (uma linha JSON por registro).
+// A gravação é feita por uma thread própria que junta os registros pendentes
+// em um único write + fsync (group commit). Se a gravação falhar, o lote continua pendente
+// e é gravado de novo (a parte escrita pela tentativa que falhou é cortada do arquivo).
+// Na compactação o arquivo atual vira um segmento fechado ("<arquivo>.<seq>"),
+// apagado só depois que o snapshot com aquela sequência estiver gravado.
+public class JournalMovimentos {
+
+    // Espera entre as tentativas de gravar um lote que falhou (disco cheio, rede fora...)
+    private static final long ESPERA_NOVA_TENTATIVA_MS = 1000;
+
+    private final File arquivo;
+    private final Gson gson;
+
+    private final BlockingQueue<byte[]> fila = new LinkedBlockingQueue<>();
+    private final Object monitor = new Object();      // Contadores de registros
+    private final Object travaCanal = new Object();   // Acesso ao arquivo
+    private long enfileirados = 0;
+    private long gravados = 0;
+
+    private FileChannel canal;
+    private long tamanhoGravado = 0;                  // Fim do último lote gravado com sucesso
+    private IOException falha;                        // Última falha de gravação (null = em dia)
+    private Thread threadGravacao;
+    private volatile boolean ativo = false;
+
+    public JournalMovimentos(File arquivo, Gson gson) {
+        this.arquivo = arquivo;
+        this.gson = gson;
+    }
+
+    // Funções de Leitura (Replay na inicialização)
+
+    // Lê os segmentos fechados (em ordem) e depois o arquivo atual, pulando os segmentos já consolidados
+    // no snapshot. Para no primeiro registro ilegível: aplicar os seguintes deixaria um buraco na sequência.
+    public List<RegistroMovimento> ler(long consolidadoAte) {
+        LeituraJournal leitura = new LeituraJournal();
+        for (File segmento : listarSegmentos()) {
+            if (seqDoSegmento(segmento.getName()) <= consolidadoAte) continue;
+            lerArquivo(segmento, leitura);
+        }
+        lerArquivo(arquivo, leitura);
+
+        if (leitura.interrupcao != null) {
+            avisarInterrupcao(leitura, consolidadoAte);
+        }
+        return leitura.registros;
+    }
+
+    private void lerArquivo(File origem, LeituraJournal leitura) {
+        if (!origem.exists()) return;
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new FileInputStream(origem), StandardCharsets.UTF_8))) {
+
+            String linha;
+            int numeroLinha = 0;
+            while ((linha = reader.readLine()) != null) {
+                numeroLinha++;
+                if (linha.isBlank()) continue;
+
+                RegistroMovimento registro;
+                try {
+                    registro = gson.fromJson(linha, RegistroMovimento.class);
+                } catch (JsonParseException e) {
+                    registro = null;
+                }
+                if (registro == null) {
+                    // Linha incompleta (queda durante a gravação) ou corrompida
+                    if (leitura.interrupcao == null) {
+                        leitura.interrupcao = origem.getName() + ", linha " + numeroLinha;
+                    }
+                } else if (leitura.interrupcao == null) {
+                    leitura.registros.add(registro);
+                } else {
+                    // Depois do ponto interrompido: lido só para informar o que foi perdido
+                    leitura.ultimoSeqDescartado = Math.max(leitura.ultimoSeqDescartado, registro.getSeq());
+                    leitura.descartados++;
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("ERRO: Falha ao ler o journal de movimentações.");
+            e.printStackTrace();
+            if (leitura.interrupcao == null) {
+                leitura.interrupcao = origem.getName() + " (erro de leitura)";
+            }
+        }
+    }
+
+    private void avisarInterrupcao(LeituraJournal leitura, long consolidadoAte) {
+        long ultimoLido = consolidadoAte;
+        for (RegistroMovimento registro : leitura.registros) {
+            ultimoLido = Math.max(ultimoLido, registro.getSeq());
+        }
+
+        if (leitura.descartados == 0) {
+            // Só a última linha: a gravação foi interrompida por uma queda (caso esperado)
+            System.err.println("AVISO: Journal interrompido em " + leitura.interrupcao +
+                    ". Registro incompleto ignorado (seq " + (ultimoLido + 1) + ").");
+        } else {
+            System.err.println("ERRO: Journal corrompido em " + leitura.interrupcao +
+                    ". Replay interrompido: movimentações da seq " + (ultimoLido + 1) + " até " +
+                    leitura.ultimoSeqDescartado + " não foram aplicadas (" + leitura.descartados +
+                    " registro(s) legível(is) depois do ponto corrompido).");
+        }
+    }
+
+    // Resultado da leitura: registros até o primeiro ilegível e o que veio depois dele
+    private static class LeituraJournal {
+        private final List<RegistroMovimento> registros = new ArrayList<>();
+        private String interrupcao;             // Onde está o primeiro registro ilegível (null = nenhum)
+        private int descartados = 0;
+        private long ultimoSeqDescartado = 0;
+    }
+
+    // Segmentos fechados, ordenados pela última sequência que cada um contém
+    private List<File> listarSegmentos() {
+        List<File> segmentos = new ArrayList<>();
+        File pasta = arquivo.getAbsoluteFile().getParentFile();
+        File[] arquivos = pasta.listFiles((dir, nome) -> seqDoSegmento(nome) >= 0);
+        if (arquivos != null) {
+            segmentos.addAll(List.of(arquivos));
+        }
+        segmentos.sort(Comparator.comparingLong(f -> seqDoSegmento(f.getName())));
+        return segmentos;
+    }
+
+    private long seqDoSegmento(String nome) {
+        String prefixo = arquivo.getName() + ".";
+        if (!nome.startsWith(prefixo)) return -1;
+        try {
+            return Long.parseLong(nome.substring(prefixo.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    // Funções de Gravação
+
+    public void abrir() throws IOException {
+        abrirCanal();
+        ativo = true;
+
+        threadGravacao = new Thread(this::executarGravacao, "journal-movimentos");
+        threadGravacao.setDaemon(true);
+        threadGravacao.start();
+    }
+
+    // Serializa na thread chamadora (o registro pode apontar para objetos que ainda vão mudar)
+    public void anexar(RegistroMovimento registro) {
+        byte[] linha = (gson.toJson(registro) + "\n").getBytes(StandardCharsets.UTF_8);
+        synchronized (monitor) {
+            enfileirados++;
+        }
+        fila.add(linha);
+    }
+
+    // Bloqueia até que todos os registros anexados estejam no disco.
+    // Se a gravação estiver falhando, avisa quem chamou em vez de esperar (os registros continuam na fila).
+    public void sincronizar() throws IOException {
+        synchronized (monitor) {
+            while (ativo && gravados < enfileirados) {
+                if (falha != null) {
+                    throw new IOException("Journal com " + (enfileirados - gravados) +
+                            " registro(s) ainda não gravado(s)", falha);
+                }
+                try {
+                    monitor.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    // Falha da última tentativa de gravação (null se o journal estiver em dia)
+    public IOException getFalha() {
+        synchronized (monitor) {
+            return falha;
+        }
+    }
+
+    // Fecha o arquivo atual como segmento (até a sequência informada) e começa um novo.
+    // Deve ser chamado sem movimentações em andamento (o gerenciador segura sua trava).
+    public void rotacionar(long ultimoSeq) throws IOException {
+        sincronizar();
+        synchronized (travaCanal) {
+            if (canal == null || canal.size() == 0) return; // Nada a separar
+
+            canal.close();
+            try {
+                Files.move(arquivo.toPath(), new File(arquivo.getAbsoluteFile().getParentFile(),
+                        arquivo.getName() + "." + ultimoSeq).toPath(), StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                // Se o arquivo não pôde ser movido, continua anexando nele mesmo
+                abrirCanal();
+            }
+        }
+    }
+
+    // Apaga os segmentos já consolidados em um snapshot
+    public void descartarSegmentosAte(long seq) {
+        for (File segmento : listarSegmentos()) {
+            if (seqDoSegmento(segmento.getName()) <= seq && !segmento.delete()) {
+                System.err.println("AVISO: Não foi possível apagar o segmento " + segmento.getName());
+            }
+        }
+    }
+
+    public void fechar() {
+        try {
+            sincronizar();
+        } catch (IOException e) {
+            System.err.println("ERRO: Journal fechado com movimentações não gravadas.");
+            e.printStackTrace();
+        }
+        ativo = false;
+        if (threadGravacao != null) threadGravacao.interrupt();
+        try {
+            if (canal != null) canal.close();
+        } catch (IOException e) {
+            System.err.println("ERRO: Falha ao fechar o journal de movimentações.");
+        }
+    }
+
+    private void executarGravacao() {
+        List<byte[]> lote = new ArrayList<>();
+        while (ativo) {
+            if (lote.isEmpty()) {
+                try {
+                    lote.add(fila.take());
+                } catch (InterruptedException e) {
+                    break;
+                }
+            }
+            // Junta tudo o que chegou enquanto o último fsync acontecia (ou o lote que falhou)
+            fila.drainTo(lote);
+
+            int tamanho = 0;
+            for (byte[] linha : lote) tamanho += linha.length;
+            ByteBuffer buffer = ByteBuffer.allocate(tamanho);
+            for (byte[] linha : lote) buffer.put(linha);
+            buffer.flip();
+
+            // O fsync acontece fora do monitor para não travar quem está anexando
+            IOException erro;
+            synchronized (travaCanal) {
+                erro = gravarLote(buffer);
+            }
+            synchronized (monitor) {
+                if (erro == null) {
+                    gravados += lote.size();
+                } else if (falha == null) {
+                    System.err.println("ERRO: Falha ao gravar " + lote.size() + " registro(s) no journal. " +
+                            "Tentando novamente a cada " + ESPERA_NOVA_TENTATIVA_MS + " ms.");
+                    erro.printStackTrace();
+                }
+                falha = erro;
+                monitor.notifyAll();
+            }
+
+            if (erro == null) {
+                lote.clear();
+            } else {
+                try {
+                    Thread.sleep(ESPERA_NOVA_TENTATIVA_MS);
+                } catch (InterruptedException e) {
+                    break;
+                }
+            }
+        }
+    }
+
+    // Grava o lote inteiro ou nada: antes de cada tentativa, corta o que sobrou de uma tentativa que falhou
+    private IOException gravarLote(ByteBuffer buffer) {
+        try {
+            if (canal == null || !canal.isOpen()) {
+                abrirCanal();
+            }
+            if (canal.size() > tamanhoGravado) {
+                canal.truncate(tamanhoGravado);
+            }
+            while (buffer.hasRemaining()) {
+                canal.write(buffer);
+            }
+            canal.force(false);
+            tamanhoGravado = canal.size();
+            return null;
+        } catch (IOException e) {
+            return e;
+        }
+    }
+
+    private void abrirCanal() throws IOException {
+        canal = FileChannel.open(arquivo.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        tamanhoGravado = canal.size();
+    }
+}
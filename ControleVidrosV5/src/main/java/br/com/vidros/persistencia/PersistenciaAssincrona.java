@@ -0,0 +1,94 @@
+package br.com.vidros.persistencia;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Gravação em segundo plano (write-behind) do snapshot.
+// As alterações só marcam o estado como "sujo"; uma thread própria grava o snapshot
+// a cada intervalo ou quando o número de alterações pendentes passa do limite,
+// juntando várias alterações em uma única gravação.
+public class PersistenciaAssincrona {
+
+    private final Runnable tarefaGravacao;
+    private final int limiteAlteracoes;
+
+    private final ScheduledExecutorService executor;
+    private final AtomicInteger pendentes = new AtomicInteger();
+    private final AtomicBoolean gravacaoAgendada = new AtomicBoolean();
+
+    // Métricas (lidas pela interface)
+    private volatile long ultimaLatenciaMs = 0;
+    private volatile long maiorLatenciaMs = 0;
+    private volatile long totalGravacoes = 0;
+
+    public PersistenciaAssincrona(Runnable tarefaGravacao, long intervaloMs, int limiteAlteracoes) {
+        this.tarefaGravacao = tarefaGravacao;
+        this.limiteAlteracoes = limiteAlteracoes;
+
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "persistencia-vidros");
+            t.setDaemon(true);
+            return t;
+        });
+        executor.scheduleWithFixedDelay(this::gravarSePendente, intervaloMs, intervaloMs, TimeUnit.MILLISECONDS);
+    }
+
+    // Intervalo e limite configuráveis pelas propriedades "vidros.gravacao.intervalo" (ms) e "vidros.gravacao.limite"
+    public static PersistenciaAssincrona configurada(Runnable tarefaGravacao) {
+        long intervaloMs = Long.getLong("vidros.gravacao.intervalo", 30_000L);
+        int limite = Integer.getInteger("vidros.gravacao.limite", 1000);
+        return new PersistenciaAssincrona(tarefaGravacao, intervaloMs, limite);
+    }
+
+    public void marcarAlterado() {
+        if (pendentes.incrementAndGet() >= limiteAlteracoes && gravacaoAgendada.compareAndSet(false, true)) {
+            executor.execute(this::gravarSePendente);
+        }
+    }
+
+    // Grava o que estiver pendente e encerra a thread (chamado ao fechar a janela)
+    public void encerrar() {
+        try {
+            executor.submit(this::gravarSePendente).get();
+        } catch (Exception e) {
+            System.err.println("ERRO: Falha na gravação final dos dados.");
+            e.printStackTrace();
+        }
+        executor.shutdown();
+    }
+
+    private void gravarSePendente() {
+        gravacaoAgendada.set(false);
+        int lote = pendentes.getAndSet(0);
+        if (lote == 0) return;
+
+        long inicio = System.nanoTime();
+        try {
+            tarefaGravacao.run();
+        } catch (RuntimeException e) {
+            // Mantém as alterações como pendentes para a próxima tentativa
+            pendentes.addAndGet(lote);
+            System.err.println("ERRO: Falha na gravação em segundo plano.");
+            e.printStackTrace();
+            return;
+        }
+
+        long latencia = (System.nanoTime() - inicio) / 1_000_000;
+        ultimaLatenciaMs = latencia;
+        maiorLatenciaMs = Math.max(maiorLatenciaMs, latencia);
+        totalGravacoes++;
+    }
+
+    // Getters das Métricas
+
+    public int getPendentes() { return pendentes.get(); }
+
+    public long getUltimaLatenciaMs() { return ultimaLatenciaMs; }
+
+    public long getMaiorLatenciaMs() { return maiorLatenciaMs; }
+
+    public long getTotalGravacoes() { return totalGravacoes; }
+}
@@ -0,0 +1,86 @@
+package br.com.vidros.persistencia;
+
+import br.com.vidros.modelo.Vidro;
+
+import java.util.List;
+
+// Uma linha do journal: cada movimentação vira um registro com número de sequência
+public class RegistroMovimento {
+
+    public enum Tipo {
+        ENTRADA,            // Chegada na fábrica
+        CORTE,              // Baixa no corte
+        ENVIO,              // Envio para a obra
+        ENVIO_DIRETO,       // Entrega direta na obra
+        REPOSICAO,          // Quebra / Erro (origem: CHEGADA ou CORTE)
+        LISTA_ADICIONADA,   // Nova lista importada
+        LISTA_REMOVIDA,     // Lista excluída
+        LISTA_SUBSTITUIDA   // Nova revisão da lista (itens já com as quantidades herdadas)
+    }
+
+    private long seq;
+    private Tipo tipo;
+
+    // Movimentação de um item
+    private String id;
+    private int quantidade;
+    private String origem;
+
+    // Operações de lista
+    private String obra;
+    private String lista;
+    private List<Vidro> vidros;
+
+    private RegistroMovimento(Tipo tipo) {
+        this.tipo = tipo;
+    }
+
+    public static RegistroMovimento movimento(Tipo tipo, String id, int quantidade, String origem) {
+        RegistroMovimento r = new RegistroMovimento(tipo);
+        r.id = id;
+        r.quantidade = quantidade;
+        r.origem = origem;
+        return r;
+    }
+
+    public static RegistroMovimento listaAdicionada(List<Vidro> vidros) {
+        RegistroMovimento r = new RegistroMovimento(Tipo.LISTA_ADICIONADA);
+        r.vidros = vidros;
+        return r;
+    }
+
+    public static RegistroMovimento listaRemovida(String obra, String lista) {
+        RegistroMovimento r = new RegistroMovimento(Tipo.LISTA_REMOVIDA);
+        r.obra = obra;
+        r.lista = lista;
+        return r;
+    }
+
+    public static RegistroMovimento listaSubstituida(String obra, String lista, List<Vidro> vidros) {
+        RegistroMovimento r = new RegistroMovimento(Tipo.LISTA_SUBSTITUIDA);
+        r.obra = obra;
+        r.lista = lista;
+        r.vidros = vidros;
+        return r;
+    }
+
+    // Getters
+    public long getSeq() { return seq; }
+
+    public Tipo getTipo() { return tipo; }
+
+    public String getId() { return id; }
+
+    public int getQuantidade() { return quantidade; }
+
+    public String getOrigem() { return origem; }
+
+    public String getObra() { return obra; }
+
+    public String getLista() { return lista; }
+
+    public List<Vidro> getVidros() { return vidros; }
+
+    // Setter (a sequência é atribuída pelo gerenciador no momento do registro)
+    public void setSeq(long seq) { this.seq = seq; }
+}
@@ -0,0 +1,249 @@
+package br.com.vidros.persistencia;
+
+import br.com.vidros.modelo.PoolStrings;
+import br.com.vidros.modelo.Vidro;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+// Snapshot binário compacto do controle.
+//
+// Cabeçalho (32 bytes): "CVSB" | versão (int) | ultimoSeq (long) | itens (int) | tamanho do conteúdo (long) | CRC32 (int)
+// Conteúdo: dicionário de textos (obra, lista, posição, tipologia, especificação) seguido dos itens,
+// com os textos como índice no dicionário e os números em varint (zigzag).
+// Texto nulo: índice 0 no dicionário (os textos começam no 1) e tamanho 0 no ID (os demais gravam tamanho + 1).
+public class SnapshotBinario {
+
+    private static final int MAGICO = 0x43565342; // "CVSB"
+    private static final int VERSAO = 2;
+    private static final int VERSAO_SEM_NULOS = 1;  // Nulos gravados como "" (ainda lida)
+    private static final int TAMANHO_CABECALHO = 32;
+
+    // O canal não é fechado aqui: quem chama força os dados para o disco antes de fechar
+    public static void gravar(FileChannel canal, long ultimoSeq, List<Vidro> vidros) throws IOException {
+        // 1. Monta o dicionário com os textos repetidos
+        Map<String, Integer> dicionario = new LinkedHashMap<>();
+        for (Vidro v : vidros) {
+            indiceTexto(dicionario, v.getNomeObra());
+            indiceTexto(dicionario, v.getListaOrigem());
+            indiceTexto(dicionario, v.getPosicao());
+            indiceTexto(dicionario, v.getTipologia());
+            indiceTexto(dicionario, v.getEspecificacao());
+        }
+
+        // 2. Reserva o cabeçalho e grava o conteúdo calculando o CRC
+        canal.position(TAMANHO_CABECALHO);
+        CRC32 crc = new CRC32();
+        ContadorBytes contador = new ContadorBytes(Channels.newOutputStream(canal));
+        DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new CheckedOutputStream(contador, crc), 64 * 1024));
+
+        escreverVarint(out, dicionario.size());
+        for (String texto : dicionario.keySet()) {
+            escreverTexto(out, texto);
+        }
+
+        for (Vidro v : vidros) {
+            escreverVarint(out, indiceTexto(dicionario, v.getNomeObra()));
+            escreverVarint(out, indiceTexto(dicionario, v.getListaOrigem()));
+            escreverVarint(out, indiceTexto(dicionario, v.getPosicao()));
+            escreverVarint(out, indiceTexto(dicionario, v.getTipologia()));
+            escreverVarint(out, indiceTexto(dicionario, v.getEspecificacao()));
+            escreverTexto(out, v.getIdItemUnico());
+            escreverInteiro(out, v.getLarguraMM());
+            escreverInteiro(out, v.getAlturaMM());
+            escreverInteiro(out, v.getQuantidadeTotal());
+            escreverInteiro(out, v.getQtdChegouFabrica());
+            escreverInteiro(out, v.getQtdCortada());
+            escreverInteiro(out, v.getQtdReposicao());
+            escreverInteiro(out, v.getQtdEnviada());
+        }
+        out.flush();
+
+        // 3. Preenche o cabeçalho
+        ByteBuffer cabecalho = ByteBuffer.allocate(TAMANHO_CABECALHO);
+        cabecalho.putInt(MAGICO)
+                .putInt(VERSAO)
+                .putLong(ultimoSeq)
+                .putInt(vidros.size())
+                .putLong(contador.total)
+                .putInt((int) crc.getValue());
+        cabecalho.flip();
+        canal.position(0);
+        while (cabecalho.hasRemaining()) {
+            canal.write(cabecalho);
+        }
+    }
+
+    // Lê apenas a sequência do cabeçalho (sem carregar os vidros)
+    public static long lerSeq(File arquivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer cabecalho = ByteBuffer.allocate(TAMANHO_CABECALHO);
+            while (cabecalho.hasRemaining() && canal.read(cabecalho) > 0) { }
+            cabecalho.flip();
+            if (cabecalho.remaining() < TAMANHO_CABECALHO || cabecalho.getInt() != MAGICO) {
+                throw new IOException("Arquivo não é um snapshot binário: " + arquivo.getName());
+            }
+            cabecalho.getInt(); // versão
+            return cabecalho.getLong();
+        }
+    }
+
+    // Leitura pelo arquivo mapeado em memória (sem cópia para buffers intermediários)
+    public static long ler(File arquivo, PoolStrings textos, Consumer<Vidro> consumidor) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo.toPath(), StandardOpenOption.READ)) {
+            if (canal.size() < TAMANHO_CABECALHO) {
+                throw new IOException("Snapshot binário incompleto: " + arquivo.getName());
+            }
+            MappedByteBuffer buffer = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+
+            // 1. Cabeçalho
+            if (buffer.getInt() != MAGICO) {
+                throw new IOException("Arquivo não é um snapshot binário: " + arquivo.getName());
+            }
+            int versao = buffer.getInt();
+            if (versao != VERSAO && versao != VERSAO_SEM_NULOS) {
+                throw new IOException("Versão de snapshot binário não suportada: " + versao);
+            }
+            long ultimoSeq = buffer.getLong();
+            int totalItens = buffer.getInt();
+            long tamanho = buffer.getLong();
+            int crcGravado = buffer.getInt();
+
+            if (tamanho != canal.size() - TAMANHO_CABECALHO) {
+                throw new IOException("Snapshot binário com tamanho inválido: " + arquivo.getName());
+            }
+
+            // 2. Confere o CRC do conteúdo antes de usar qualquer dado
+            CRC32 crc = new CRC32();
+            crc.update(buffer.duplicate());
+            if ((int) crc.getValue() != crcGravado) {
+                throw new IOException("Checksum inválido no snapshot binário: " + arquivo.getName());
+            }
+
+            // 3. Dicionário e itens
+            boolean comNulos = versao != VERSAO_SEM_NULOS;
+            int primeiroIndice = comNulos ? 1 : 0;   // Posição 0 fica null
+            int tamanhoDicionario = lerVarint(buffer);
+            String[] dicionario = new String[primeiroIndice + tamanhoDicionario];
+            for (int i = primeiroIndice; i < dicionario.length; i++) {
+                dicionario[i] = textos.canonico(lerTexto(buffer, comNulos));
+            }
+
+            for (int i = 0; i < totalItens; i++) {
+                String nomeObra = dicionario[lerVarint(buffer)];
+                String listaOrigem = dicionario[lerVarint(buffer)];
+                String posicao = dicionario[lerVarint(buffer)];
+                String tipologia = dicionario[lerVarint(buffer)];
+                String especificacao = dicionario[lerVarint(buffer)];
+                String idItemUnico = lerTexto(buffer, comNulos);
+
+                consumidor.accept(new Vidro(nomeObra, listaOrigem, idItemUnico, posicao, tipologia, especificacao,
+                        lerInteiro(buffer), lerInteiro(buffer), lerInteiro(buffer),
+                        lerInteiro(buffer), lerInteiro(buffer), lerInteiro(buffer), lerInteiro(buffer)));
+            }
+            return ultimoSeq;
+        }
+    }
+
+    // Funções Auxiliares de Codificação
+
+    private static int indiceTexto(Map<String, Integer> dicionario, String texto) {
+        if (texto == null) return 0;
+        Integer indice = dicionario.get(texto);
+        if (indice == null) {
+            indice = dicionario.size() + 1;
+            dicionario.put(texto, indice);
+        }
+        return indice;
+    }
+
+    private static void escreverTexto(DataOutputStream out, String texto) throws IOException {
+        if (texto == null) {
+            escreverVarint(out, 0);
+            return;
+        }
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        escreverVarint(out, bytes.length + 1);
+        out.write(bytes);
+    }
+
+    private static String lerTexto(ByteBuffer buffer, boolean comNulos) {
+        int tamanho = lerVarint(buffer);
+        if (comNulos) {
+            if (tamanho == 0) return null;
+            tamanho--;
+        }
+        byte[] bytes = new byte[tamanho];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Zigzag: números negativos pequenos também ocupam poucos bytes
+    private static void escreverInteiro(DataOutputStream out, int valor) throws IOException {
+        escreverVarint(out, (valor << 1) ^ (valor >> 31));
+    }
+
+    private static int lerInteiro(ByteBuffer buffer) {
+        int n = lerVarint(buffer);
+        return (n >>> 1) ^ -(n & 1);
+    }
+
+    private static void escreverVarint(DataOutputStream out, int valor) throws IOException {
+        while ((valor & ~0x7F) != 0) {
+            out.write((valor & 0x7F) | 0x80);
+            valor >>>= 7;
+        }
+        out.write(valor);
+    }
+
+    private static int lerVarint(ByteBuffer buffer) {
+        int resultado = 0;
+        int deslocamento = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            resultado |= (b & 0x7F) << deslocamento;
+            deslocamento += 7;
+        } while ((b & 0x80) != 0);
+        return resultado;
+    }
+
+    // Conta os bytes gravados no canal (tamanho do conteúdo no cabeçalho)
+    private static class ContadorBytes extends OutputStream {
+        private final OutputStream destino;
+        private long total = 0;
+
+        ContadorBytes(OutputStream destino) {
+            this.destino = destino;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            destino.write(b);
+            total++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            destino.write(b, off, len);
+            total += len;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package br.com.vidros.persistencia;
+
+import br.com.vidros.modelo.PoolStrings;
+import br.com.vidros.modelo.Vidro;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Snapshot do controle em JSON, lido e gravado em streaming (um Vidro por vez).
+// Formato: { "ultimoSeq": N, "vidros": [ ... ] }. O formato antigo (apenas o array) também é aceito.
+public class SnapshotJson {
+
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+
+    // Entrega cada Vidro lido ao consumidor e retorna a sequência do journal consolidada no arquivo
+    public static long ler(File arquivo, PoolStrings textos, Consumer<Vidro> consumidor) throws IOException {
+        VidroTypeAdapter adapter = new VidroTypeAdapter(textos);
+        long ultimoSeq = 0;
+
+        try (JsonReader reader = new JsonReader(new BufferedReader(
+                new InputStreamReader(new FileInputStream(arquivo), StandardCharsets.UTF_8), TAMANHO_BUFFER))) {
+
+            JsonToken inicio = reader.peek();
+            if (inicio == JsonToken.BEGIN_ARRAY) {
+                lerVidros(reader, adapter, consumidor);
+            } else if (inicio == JsonToken.BEGIN_OBJECT) {
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    switch (reader.nextName()) {
+                        case "ultimoSeq" -> ultimoSeq = reader.nextLong();
+                        case "vidros" -> lerVidros(reader, adapter, consumidor);
+                        default -> reader.skipValue();
+                    }
+                }
+                reader.endObject();
+            } else {
+                reader.skipValue();
+            }
+        }
+        return ultimoSeq;
+    }
+
+    private static void lerVidros(JsonReader reader, VidroTypeAdapter adapter, Consumer<Vidro> consumidor)
+            throws IOException {
+        reader.beginArray();
+        while (reader.hasNext()) {
+            Vidro v = adapter.read(reader);
+            if (v != null) consumidor.accept(v);
+        }
+        reader.endArray();
+    }
+
+    // Lê apenas a sequência gravada no início do arquivo (sem carregar os vidros)
+    public static long lerSeq(File arquivo) throws IOException {
+        try (JsonReader reader = new JsonReader(new BufferedReader(
+                new InputStreamReader(new FileInputStream(arquivo), StandardCharsets.UTF_8)))) {
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) return 0; // Formato antigo
+            reader.beginObject();
+            if (reader.hasNext() && reader.nextName().equals("ultimoSeq")) {
+                return reader.nextLong();
+            }
+            return 0;
+        }
+    }
+
+    // O canal não é fechado aqui: quem chama força os dados para o disco antes de fechar
+    public static void gravar(FileChannel canal, long ultimoSeq, List<Vidro> vidros) throws IOException {
+        VidroTypeAdapter adapter = new VidroTypeAdapter();
+
+        JsonWriter writer = new JsonWriter(new BufferedWriter(
+                new OutputStreamWriter(Channels.newOutputStream(canal), StandardCharsets.UTF_8), TAMANHO_BUFFER));
+        writer.setIndent("  ");   // Mantém o arquivo legível (pretty printing)
+
+        writer.beginObject();
+        writer.name("ultimoSeq").value(ultimoSeq);
+        writer.name("vidros").beginArray();
+        for (Vidro v : vidros) {
+            adapter.write(writer, v);
+        }
+        writer.endArray();
+        writer.endObject();
+        writer.flush();
+    }
+}
@@ -0,0 +1,93 @@
+package br.com.vidros.persistencia;
+
+import br.com.vidros.modelo.PoolStrings;
+import br.com.vidros.modelo.Vidro;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+// Conversão manual Vidro <-> JSON (sem reflexão), usada na leitura em streaming.
+// Os textos repetidos (obra, lista, tipologia, especificação) são compartilhados
+// com os demais vidros lidos pelo mesmo adapter (PoolStrings da carga).
+public class VidroTypeAdapter extends TypeAdapter<Vidro> {
+
+    private final PoolStrings textos;
+
+    public VidroTypeAdapter() {
+        this(new PoolStrings());
+    }
+
+    public VidroTypeAdapter(PoolStrings textos) {
+        this.textos = textos;
+    }
+
+    @Override
+    public void write(JsonWriter out, Vidro v) throws IOException {
+        if (v == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("nomeObra").value(v.getNomeObra());
+        out.name("listaOrigem").value(v.getListaOrigem());
+        out.name("idItemUnico").value(v.getIdItemUnico());
+        out.name("posicao").value(v.getPosicao());
+        out.name("tipologia").value(v.getTipologia());
+        out.name("especificacao").value(v.getEspecificacao());
+        out.name("larguraMM").value(v.getLarguraMM());
+        out.name("alturaMM").value(v.getAlturaMM());
+        out.name("quantidadeTotal").value(v.getQuantidadeTotal());
+        out.name("qtdChegouFabrica").value(v.getQtdChegouFabrica());
+        out.name("qtdCortada").value(v.getQtdCortada());
+        out.name("qtdReposicao").value(v.getQtdReposicao());
+        out.name("qtdEnviada").value(v.getQtdEnviada());
+        out.name("status").value(v.getStatus().name());
+        out.endObject();
+    }
+
+    @Override
+    public Vidro read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        String nomeObra = null, listaOrigem = null, idItemUnico = null;
+        String posicao = null, tipologia = null, especificacao = null;
+        int larguraMM = 0, alturaMM = 0, quantidadeTotal = 0;
+        int qtdChegouFabrica = 0, qtdCortada = 0, qtdReposicao = 0, qtdEnviada = 0;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String campo = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            switch (campo) {
+                case "nomeObra" -> nomeObra = textos.canonico(in.nextString());
+                case "listaOrigem" -> listaOrigem = textos.canonico(in.nextString());
+                case "idItemUnico" -> idItemUnico = in.nextString();
+                case "posicao" -> posicao = textos.canonico(in.nextString());
+                case "tipologia" -> tipologia = textos.canonico(in.nextString());
+                case "especificacao" -> especificacao = textos.canonico(in.nextString());
+                case "larguraMM" -> larguraMM = in.nextInt();
+                case "alturaMM" -> alturaMM = in.nextInt();
+                case "quantidadeTotal" -> quantidadeTotal = in.nextInt();
+                case "qtdChegouFabrica" -> qtdChegouFabrica = in.nextInt();
+                case "qtdCortada" -> qtdCortada = in.nextInt();
+                case "qtdReposicao" -> qtdReposicao = in.nextInt();
+                case "qtdEnviada" -> qtdEnviada = in.nextInt();
+                default -> in.skipValue(); // status (ou statusGeral, nos arquivos antigos) é recalculado
+            }
+        }
+        in.endObject();
+
+        return new Vidro(nomeObra, listaOrigem, idItemUnico, posicao, tipologia, especificacao,
+                larguraMM, alturaMM, quantidadeTotal, qtdChegouFabrica, qtdCortada, qtdReposicao, qtdEnviada);
+    }
+
+}
@@ -0,0 +1,125 @@
+package br.com.vidros.controle;
+
+import br.com.vidros.modelo.Vidro;
+import br.com.vidros.persistencia.FormatoSnapshot;
+import br.com.vidros.persistencia.GravacaoAtomica;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Os arquivos de dados ficam na pasta atual (no Maven, target/dados-teste)
+class RecuperacaoSnapshotTest {
+
+    private static final File SNAPSHOT = new File(FormatoSnapshot.JSON.getNomeArquivo());
+
+    @BeforeEach
+    @AfterEach
+    void limparPasta() {
+        File[] arquivos = SNAPSHOT.getAbsoluteFile().getParentFile()
+                .listFiles((dir, nome) -> nome.startsWith("controle_vidros"));
+        if (arquivos == null) return;
+        for (File arquivo : arquivos) {
+            arquivo.delete();
+        }
+    }
+
+    @Test
+    void quedaDuranteOSnapshotMantemOsDados() throws IOException {
+        List<String> esperado = criarDuasGeracoes();
+
+        // Nova gravação do snapshot interrompida no meio do temporário
+        assertThrows(IOException.class, () -> GravacaoAtomica.gravar(SNAPSHOT, 3, canal -> {
+            canal.write(ByteBuffer.wrap("{\"ultimoSeq\": 9, \"vidros\": [{\"nomeObra\": \"OB"
+                    .getBytes(StandardCharsets.UTF_8)));
+            throw new IOException("queda simulada");
+        }));
+
+        assertEquals(esperado, idsCarregados());
+    }
+
+    @Test
+    void snapshotTruncadoCarregaAUltimaGeracaoBoa() throws IOException {
+        criarDuasGeracoes();
+        truncarSnapshot();
+        apagarJournal();
+
+        // Sem o journal, o controle fica exatamente como a geração .1
+        List<String> geracaoAnterior = new ArrayList<>();
+        FormatoSnapshot.JSON.ler(new File(SNAPSHOT.getPath() + ".1"), v -> geracaoAnterior.add(v.getIdItemUnico()));
+        assertEquals(50, geracaoAnterior.size());
+        assertEquals(geracaoAnterior, idsCarregados());
+    }
+
+    @Test
+    void snapshotTruncadoReaplicaOJournalSobreAGeracaoAnterior() throws IOException {
+        List<String> esperado = criarDuasGeracoes();
+        truncarSnapshot();
+
+        assertEquals(esperado, idsCarregados());
+    }
+
+    // Funções Auxiliares
+
+    // Duas sessões, cada uma grava um snapshot ao fechar: atual = L1 + L2, geração .1 = L1
+    private static List<String> criarDuasGeracoes() {
+        GerenciadorVidros primeira = new GerenciadorVidros();
+        primeira.adicionarListaDeObra(lista("L1", 50));
+        primeira.fechar();
+
+        GerenciadorVidros segunda = new GerenciadorVidros();
+        segunda.adicionarListaDeObra(lista("L2", 30));
+        List<String> ids = ids(segunda.getTodosVidros());
+        segunda.fechar();
+        return ids;
+    }
+
+    private static List<String> idsCarregados() {
+        GerenciadorVidros gerenciador = new GerenciadorVidros();
+        try {
+            return ids(gerenciador.getTodosVidros());
+        } finally {
+            gerenciador.fechar();
+        }
+    }
+
+    private static void truncarSnapshot() throws IOException {
+        try (FileChannel canal = FileChannel.open(SNAPSHOT.toPath(), StandardOpenOption.WRITE)) {
+            canal.truncate(canal.size() / 2);
+        }
+    }
+
+    private static void apagarJournal() {
+        File[] arquivos = SNAPSHOT.getAbsoluteFile().getParentFile()
+                .listFiles((dir, nome) -> nome.startsWith("controle_vidros.journal"));
+        if (arquivos == null) return;
+        for (File arquivo : arquivos) {
+            arquivo.delete();
+        }
+    }
+
+    private static List<Vidro> lista(String nomeLista, int quantidade) {
+        List<Vidro> itens = new ArrayList<>();
+        for (int i = 1; i <= quantidade; i++) {
+            itens.add(new Vidro("OBRA TESTE", nomeLista, "P" + i, "JANELA", "INCOLOR 8MM", 500 + i, 600, 2));
+        }
+        return itens;
+    }
+
+    private static List<String> ids(List<Vidro> vidros) {
+        List<String> ids = new ArrayList<>(vidros.size());
+        for (Vidro v : vidros) ids.add(v.getIdItemUnico());
+        return ids;
+    }
+}
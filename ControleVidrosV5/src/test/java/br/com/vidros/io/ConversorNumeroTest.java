@@ -0,0 +1,41 @@
+package br.com.vidros.io;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Medidas e quantidades digitadas como texto. Mudança intencional em relação ao antigo
+// replaceAll("[^0-9]", ""): "1606,5" era 16065 e "1606 x 1106" era 16061106.
+class ConversorNumeroTest {
+
+    private static final Object[][] CASOS = {
+            // texto, esperado
+            {"1606", 1606},
+            {"1.606", 1606},            // Ponto de milhar
+            {"1606 mm", 1606},
+            {"1606,5", 1606},           // Vírgula decimal
+            {"1.606,5", 1606},
+            {"1606.5", 1606},
+            {"1606 x 1106", 1606},      // Só o primeiro número
+            {"Qtd: 2", 2},
+            {"L=1606", 1606},
+            {"1,606", 1},               // Uma vírgula só: sempre decimal (padrão brasileiro)
+            {"1.5", 1},
+            {"1,606.5", 1606},
+            {"1.606.000", 1606000},
+            {"1.60.6", 160},            // Grupos que não são de milhar: o último separador é o decimal
+            {"1606.", 1606},            // Separador sem dígito depois encerra o número
+            {"2147483647", Integer.MAX_VALUE},
+            {"2147483648", 0},          // Estouro
+            {"99999999999999999999", 0},
+            {"", 0},
+            {"mm", 0},
+    };
+
+    @Test
+    void tabelaDeConversao() {
+        for (Object[] caso : CASOS) {
+            assertEquals(caso[1], ConversorNumero.inteiro((String) caso[0]), "\"" + caso[0] + "\"");
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package br.com.vidros.io;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.text.Normalizer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class MapeadorCabecalhoTest {
+
+    private static final String[] CABECALHOS = {
+            "Posição", "POSIÇÃO", "Código", "Cód.", "Tipologia", "Tipo", "Especificação", "Descrição",
+            "Largura (mm)", "Altura", "Quant.", "Qtd", "Nº", "Obs.: ½ peça", "Ärger", "straße", "ﬁxo",
+            "Ωμέγα", "İstanbul", "ı", "日本", "", "  Largura  "
+    };
+
+    @Test
+    void normalizacaoIgualAoNfdComRegex() {
+        for (String texto : CABECALHOS) {
+            assertEquals(normalizarAntigo(texto), MapeadorCabecalho.normalizar(texto), texto);
+        }
+        // Todos os caracteres Latin-1 (tabela pré-calculada) e alguns fora dela
+        for (char c = 0; c < 0x250; c++) {
+            String texto = "a" + c + "b";
+            assertEquals(normalizarAntigo(texto), MapeadorCabecalho.normalizar(texto), "U+" + Integer.toHexString(c));
+        }
+    }
+
+    @Test
+    void identificaOsCamposPadrao() {
+        MapeadorCabecalho mapeador = MapeadorCabecalho.carregar(new File("nao-existe.properties"));
+        assertEquals(MapeadorCabecalho.Campo.POSICAO, mapeador.identificar("Posição"));
+        assertEquals(MapeadorCabecalho.Campo.TIPOLOGIA, mapeador.identificar("Tipologia"));
+        assertEquals(MapeadorCabecalho.Campo.ESPECIFICACAO, mapeador.identificar("Descrição do vidro"));
+        assertEquals(MapeadorCabecalho.Campo.LARGURA, mapeador.identificar("Largura (mm)"));
+        assertEquals(MapeadorCabecalho.Campo.ALTURA, mapeador.identificar("altura"));
+        assertEquals(MapeadorCabecalho.Campo.QUANTIDADE, mapeador.identificar("Qtd."));
+        assertNull(mapeador.identificar("Observação"));
+    }
+
+    // Rotina anterior: maiúsculas, NFD e remoção de tudo o que não for ASCII por regex
+    private static String normalizarAntigo(String texto) {
+        return Normalizer.normalize(texto.toUpperCase(), Normalizer.Form.NFD).replaceAll("[^\\p{ASCII}]", "");
+    }
+}
@@ -0,0 +1,57 @@
+package br.com.vidros.modelo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// O ID gerado em uma passada precisa ser idêntico (byte a byte) ao da implementação anterior:
+// ele é a chave das movimentações gravadas no journal e no arquivo de dados.
+class GeracaoIdTest {
+
+    private static final String[][] CASOS = {
+            // obra, lista, posição, tipologia
+            {"Residencial Vista Mar", "Lista 1", "P 1", "JANELA CORRER 2F"},
+            {"torre norte", "lista\t2", "p\n3", "porta  giro"},
+            {"Obra\r\nA", "L\u000B1", "P\f2", " FIXO\tSUPERIOR "},
+            {"Edifício São Paulo", "Ação", "Posição ç", "Box Frontal"},
+            {"straße", "ﬁxo", "ıi", "İstanbul"},
+            {"Ωμέγα", "日本", "P\u00A01", "x\u2003y"},     // Espaços fora do \s (NBSP, em space) ficam
+            {null, "Lista", null, "Tipologia"},
+            {"", "", "", ""},
+    };
+
+    @Test
+    void idIgualAoAntigo() {
+        conferirTodos();
+    }
+
+    @Test
+    void idIgualAoAntigoEmTurco() {
+        // No turco "i".toUpperCase() vira "İ": as maiúsculas ficam com o toUpperCase() do idioma
+        Locale anterior = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+            conferirTodos();
+        } finally {
+            Locale.setDefault(anterior);
+        }
+    }
+
+    private static void conferirTodos() {
+        for (String[] c : CASOS) {
+            Vidro v = new Vidro(c[0], c[1], c[2], c[3], "INCOLOR 8MM", 1606, 1106, 2);
+            assertEquals(idAntigo(v), v.gerarIdUnico(), String.join("|", String.valueOf(c[0]), c[1],
+                    String.valueOf(c[2]), c[3]));
+            assertEquals(v.gerarIdUnico(), v.getIdItemUnico());
+        }
+    }
+
+    // Implementação anterior (concatenação + replaceAll + toUpperCase)
+    private static String idAntigo(Vidro v) {
+        String idBase = v.getNomeObra() + "-" + v.getListaOrigem() + "-" + v.getPosicao() + "-" + v.getTipologia() +
+                "-" + v.getLarguraMM() + "x" + v.getAlturaMM();
+        return idBase.replaceAll("\\s+", "").toUpperCase();
+    }
+}
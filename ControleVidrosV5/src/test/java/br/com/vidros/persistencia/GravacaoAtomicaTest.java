@@ -0,0 +1,64 @@
+package br.com.vidros.persistencia;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GravacaoAtomicaTest {
+
+    @TempDir
+    Path pasta;
+
+    @Test
+    void publicacaoRodaAsGeracoes() throws IOException {
+        File arquivo = pasta.resolve("dados.json").toFile();
+        GravacaoAtomica.gravar(arquivo, 3, canal -> escrever(canal, "v1"));
+        GravacaoAtomica.gravar(arquivo, 3, canal -> escrever(canal, "v2"));
+        GravacaoAtomica.gravar(arquivo, 3, canal -> escrever(canal, "v3"));
+
+        // A cópia em .1 não pode acompanhar o arquivo atual quando ele é substituído
+        assertEquals("v3", ler(arquivo, ""));
+        assertEquals("v2", ler(arquivo, ".1"));
+        assertEquals("v1", ler(arquivo, ".2"));
+    }
+
+    @Test
+    void quedaNoMeioDaEscritaNaoMexeNoArquivoNemNasGeracoes() throws IOException {
+        File arquivo = pasta.resolve("dados.json").toFile();
+        GravacaoAtomica.gravar(arquivo, 3, canal -> escrever(canal, "v1"));
+        GravacaoAtomica.gravar(arquivo, 3, canal -> escrever(canal, "v2"));
+        GravacaoAtomica.gravar(arquivo, 3, canal -> escrever(canal, "v3"));
+
+        IOException erro = assertThrows(IOException.class, () -> GravacaoAtomica.gravar(arquivo, 3, canal -> {
+            escrever(canal, "v4 incomp");
+            throw new IOException("queda simulada");
+        }));
+
+        assertEquals("queda simulada", erro.getMessage());
+        assertEquals("v3", ler(arquivo, ""));
+        assertEquals("v2", ler(arquivo, ".1"));
+        assertEquals("v1", ler(arquivo, ".2"));
+        assertFalse(Files.exists(pasta.resolve("dados.json.3")));
+    }
+
+    // Funções Auxiliares
+
+    private static void escrever(FileChannel canal, String texto) throws IOException {
+        canal.write(ByteBuffer.wrap(texto.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String ler(File arquivo, String sufixo) throws IOException {
+        return Files.readString(arquivo.toPath().resolveSibling(arquivo.getName() + sufixo));
+    }
+}
@@ -0,0 +1,79 @@
+package br.com.vidros.persistencia;
+
+import br.com.vidros.modelo.Vidro;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class JournalMovimentosTest {
+
+    private final Gson gson = new GsonBuilder()
+            .registerTypeAdapter(Vidro.class, new VidroTypeAdapter())
+            .create();
+
+    @TempDir
+    Path pasta;
+
+    @Test
+    void registroIncompletoNoFimDoArquivoAtualEhIgnorado() throws IOException {
+        File arquivo = pasta.resolve("controle.journal").toFile();
+        escrever(new File(arquivo.getPath() + ".2"), linhas(1, 2));
+        escrever(arquivo, linhas(3, 4) + "{\"seq\":5,\"tipo\":\"ENTR");
+
+        assertEquals(List.of(1L, 2L, 3L, 4L), seqs(new JournalMovimentos(arquivo, gson).ler(0)));
+    }
+
+    @Test
+    void registroCorrompidoNoMeioParaOReplayInteiro() throws IOException {
+        File arquivo = pasta.resolve("controle.journal").toFile();
+        // Segmento com uma linha corrompida no meio: os seguintes (e os outros arquivos) não podem ser aplicados
+        escrever(new File(arquivo.getPath() + ".4"), linhas(1, 2) + "{lixo\n" + linhas(4, 4));
+        escrever(new File(arquivo.getPath() + ".6"), linhas(5, 6));
+        escrever(arquivo, linhas(7, 8));
+
+        assertEquals(List.of(1L, 2L), seqs(new JournalMovimentos(arquivo, gson).ler(0)));
+    }
+
+    @Test
+    void segmentoJaConsolidadoNaoEhLido() throws IOException {
+        File arquivo = pasta.resolve("controle.journal").toFile();
+        // O segmento corrompido já está no snapshot (seq até 4): não interrompe o replay
+        escrever(new File(arquivo.getPath() + ".4"), linhas(1, 2) + "{lixo\n" + linhas(4, 4));
+        escrever(arquivo, linhas(5, 6));
+
+        assertEquals(List.of(5L, 6L), seqs(new JournalMovimentos(arquivo, gson).ler(4)));
+    }
+
+    // Funções Auxiliares
+
+    private String linhas(long de, long ate) {
+        StringBuilder sb = new StringBuilder();
+        for (long seq = de; seq <= ate; seq++) {
+            RegistroMovimento registro = RegistroMovimento.movimento(RegistroMovimento.Tipo.ENTRADA, "ID-" + seq, 1, null);
+            registro.setSeq(seq);
+            sb.append(gson.toJson(registro)).append("\n");
+        }
+        return sb.toString();
+    }
+
+    private static void escrever(File arquivo, String conteudo) throws IOException {
+        Files.writeString(arquivo.toPath(), conteudo, StandardCharsets.UTF_8);
+    }
+
+    private static List<Long> seqs(List<RegistroMovimento> registros) {
+        List<Long> seqs = new ArrayList<>();
+        for (RegistroMovimento r : registros) seqs.add(r.getSeq());
+        return seqs;
+    }
+}
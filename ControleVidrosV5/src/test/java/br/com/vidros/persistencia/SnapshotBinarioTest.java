@@ -0,0 +1,51 @@
+package br.com.vidros.persistencia;
+
+import br.com.vidros.modelo.Vidro;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SnapshotBinarioTest {
+
+    @TempDir
+    Path pasta;
+
+    @Test
+    void textosNulosEVaziosVoltamIguaisNosDoisFormatos() throws IOException {
+        List<Vidro> vidros = List.of(
+                new Vidro("OBRA A", "L1", "ID-1", "P1", "JANELA", "INCOLOR 8MM", 500, 600, 2, 1, 1, 0, 0),
+                new Vidro(null, null, "ID-2", null, null, null, 300, 400, 1, 0, 0, 0, 0),
+                new Vidro("", "", "", "", "", "", 0, 0, 0, 0, 0, 0, 0),
+                new Vidro("OBRA A", null, "ID-4", "", "JANELA", null, -5, 7, 3, 3, 2, 1, 1));
+
+        for (FormatoSnapshot formato : FormatoSnapshot.values()) {
+            File arquivo = pasta.resolve(formato.getNomeArquivo()).toFile();
+            GravacaoAtomica.gravar(arquivo, 0, canal -> formato.gravar(canal, 42, vidros));
+
+            List<Vidro> lidos = new ArrayList<>();
+            assertEquals(42, formato.ler(arquivo, lidos::add), formato.name());
+            assertEquals(campos(vidros), campos(lidos), formato.name());
+        }
+    }
+
+    // Funções Auxiliares
+
+    private static List<List<Object>> campos(List<Vidro> vidros) {
+        List<List<Object>> campos = new ArrayList<>();
+        for (Vidro v : vidros) {
+            campos.add(Arrays.asList(v.getNomeObra(), v.getListaOrigem(), v.getIdItemUnico(),
+                    v.getPosicao(), v.getTipologia(), v.getEspecificacao(), v.getLarguraMM(), v.getAlturaMM(),
+                    v.getQuantidadeTotal(), v.getQtdChegouFabrica(), v.getQtdCortada(), v.getQtdReposicao(),
+                    v.getQtdEnviada(), v.getStatus()));
+        }
+        return campos;
+    }
+}